@@ -0,0 +1,125 @@
+package org.example.benchmarks;
+
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.SilentReporter;
+import org.example.simulation.ChessUtils;
+import org.example.simulation.GameSimulator;
+import org.example.simulation.Piece;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.pieces.King;
+import org.example.simulation.pieces.attributes.Color;
+import org.example.simulation.pieces.attributes.Position;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ChessUtils.isInCheck and ChessUtils.isCheckmate, with the bitboard check test for comparison.
+ * The sample is the final position of every game in the sample database plus a few positions in check,
+ * so both the early exit and the full mate search of isCheckmate are exercised.
+ * Each invocation tests both kings of every sample position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckDetectionBenchmark {
+    // board part of FEN strings: mates, plain checks and a double check
+    private static final String[] CHECK_POSITIONS = {
+            "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR",
+            "r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR",
+            "rnbqkbnr/ppp2ppp/8/1B1pp3/4P3/8/PPPP1PPP/RNBQK1NR",
+            "4k3/8/8/8/8/5n2/8/4K2r",
+            "6k1/5ppp/8/8/8/8/8/R5K1"
+    };
+
+    private final List<Piece[][]> boards = new ArrayList<>();
+    private final List<King> kings = new ArrayList<>();
+    private final List<BitboardPosition> positions = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Record> records = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX, new SilentReporter())
+                .parsingMoves(PgnData.resolve(PgnData.SAMPLE, 1).toString());
+        for (Record record : records) {
+            GameSimulator simulator = new GameSimulator(record, null, new SilentReporter());
+            simulator.runGame();
+            add(simulator.getBoard());
+        }
+        for (String fen : CHECK_POSITIONS) {
+            add(fromFen(fen));
+        }
+    }
+
+    @Benchmark
+    public void isInCheck(Blackhole blackhole) {
+        for (int i = 0; i < kings.size(); i++) {
+            blackhole.consume(ChessUtils.isInCheck(boards.get(i / 2), kings.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void isCheckmate(Blackhole blackhole) {
+        for (int i = 0; i < kings.size(); i++) {
+            blackhole.consume(ChessUtils.isCheckmate(boards.get(i / 2), kings.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void bitboardIsInCheck(Blackhole blackhole) {
+        for (BitboardPosition position : positions) {
+            blackhole.consume(position.isInCheck(BitboardPosition.WHITE));
+            blackhole.consume(position.isInCheck(BitboardPosition.BLACK));
+        }
+    }
+
+    // keeps kings in board order: white and black king of board i at 2i and 2i + 1
+    private void add(Piece[][] board) {
+        King white = null;
+        King black = null;
+        for (Piece[] rank : board) {
+            for (Piece piece : rank) {
+                if (piece instanceof King king) {
+                    if (king.getColor() == Color.white) {
+                        white = king;
+                    } else {
+                        black = king;
+                    }
+                }
+            }
+        }
+        if (white == null || black == null) {
+            return;
+        }
+        boards.add(board);
+        kings.add(white);
+        kings.add(black);
+        positions.add(BitboardPosition.from(board));
+    }
+
+    private static Piece[][] fromFen(String fen) {
+        Piece[][] board = new Piece[8][8];
+        String[] ranks = fen.split("/");
+        for (int i = 0; i < 8; i++) {
+            int rank = 7 - i;
+            int file = 0;
+            for (char c : ranks[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    file += c - '0';
+                    continue;
+                }
+                Color color = Character.isUpperCase(c) ? Color.white : Color.black;
+                Position position = Position.of((char) ('a' + file), rank + 1);
+                board[rank][file] = ChessUtils.createPiece(Character.toUpperCase(c), position, color);
+                file++;
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.SilentReporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of GameParser.parsingMoves: reading a PGN file and turning every game into a Record.
+ * The auxiliary counters report games/s and moves/s next to the time per file.
+ * Diagnostics go to a SilentReporter, so console output is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"Tbilisi2015.pgn", "synthetic"})
+    public String input;
+
+    // how often the sample database is repeated in the synthetic input
+    @Param({"50"})
+    public int copies;
+
+    private String file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Path path = PgnData.resolve(input, copies);
+        file = path.toString();
+    }
+
+    @Benchmark
+    public List<Record> parsingMoves(Throughput throughput) {
+        List<Record> records = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX,
+                new SilentReporter()).parsingMoves(file);
+        throughput.count(records);
+        return records;
+    }
+
+    @Benchmark
+    public List<Record> parsingMovesTokenizer(Throughput throughput) {
+        List<Record> records = new GameParser(GameParser.Ingestion.MEMORY_MAPPED, GameParser.Movetext.TOKENIZER,
+                new SilentReporter()).parsingMoves(file);
+        throughput.count(records);
+        return records;
+    }
+}
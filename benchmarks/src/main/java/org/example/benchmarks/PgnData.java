@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Locates the bundled PGN examples and builds the synthetic inputs of the benchmarks.
+ * The examples directory can be set with -Dpgn.dir=...; by default it is looked up relative
+ * to the working directory, so the benchmarks run from both the project and the module directory.
+ */
+final class PgnData {
+    static final String EXAMPLES = "src/test/java/real_PGN_examples";
+    static final String SAMPLE = "Tbilisi2015.pgn";
+
+    private PgnData() {
+    }
+
+    static Path examplesDir() {
+        String configured = System.getProperty("pgn.dir");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        for (Path candidate : new Path[] {Paths.get(EXAMPLES), Paths.get("..", EXAMPLES)}) {
+            if (Files.isDirectory(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Cannot find " + EXAMPLES + ", set -Dpgn.dir");
+    }
+
+    /**
+     * Resolves a benchmark input: the name of a bundled example, or "synthetic" for a large file
+     * made of the sample database repeated the given number of times.
+     *
+     * @return Path of the PGN file to read; synthetic files are deleted on exit
+     */
+    static Path resolve(String input, int copies) {
+        Path sample = examplesDir().resolve(SAMPLE);
+        if (!input.equals("synthetic")) {
+            return examplesDir().resolve(input);
+        }
+        try {
+            byte[] games = Files.readAllBytes(sample);
+            Path file = Files.createTempFile("synthetic", ".pgn");
+            file.toFile().deleteOnExit();
+            for (int i = 0; i < copies; i++) {
+                Files.write(file, games, StandardOpenOption.APPEND);
+                Files.write(file, new byte[] {'\n', '\n'}, StandardOpenOption.APPEND);
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.benchmarks;
+
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.SilentReporter;
+import org.example.simulation.GameSimulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of GameSimulator.runGame over already parsed games, so parsing is not measured.
+ * The auxiliary counters report games/s and simulated moves/s.
+ * Diagnostics go to a SilentReporter, so console output is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulatorBenchmark {
+    @Param({"Tbilisi2015.pgn", "synthetic"})
+    public String input;
+
+    @Param({"20"})
+    public int copies;
+
+    private List<Record> records;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        records = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX, new SilentReporter())
+                .parsingMoves(PgnData.resolve(input, copies).toString());
+    }
+
+    @Benchmark
+    public int runGame(Throughput throughput) {
+        int valid = 0;
+        int moves = 0;
+        for (Record record : records) {
+            GameSimulator simulator = new GameSimulator(record, null, new SilentReporter());
+            if (simulator.runGame()) {
+                valid++;
+            }
+            moves += simulator.getCompletedMoves();
+        }
+        throughput.count(records.size(), moves);
+        return valid;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.benchmarks;
+
+import org.example.parsing.Record;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Counts the games and moves handled by a benchmark; JMH reports them as games/s and moves/s.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+    public long games;
+    public long moves;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        games = 0;
+        moves = 0;
+    }
+
+    void count(List<Record> records) {
+        for (Record record : records) {
+            games++;
+            if (record != null) {
+                moves += record.getMoves().size();
+            }
+        }
+    }
+
+    void count(int games, int moves) {
+        this.games += games;
+        this.moves += moves;
+    }
+}
@@ -1,50 +1,275 @@
 package org.example;
+import org.example.batch.BatchValidator;
+import org.example.batch.Checkpoint;
+import org.example.batch.ValidationStats;
+import org.example.metrics.Metrics;
+import org.example.metrics.PeriodicReport;
+import org.example.metrics.ProgressReport;
 import org.example.parsing.GameParser;
 import org.example.parsing.Record;
-import org.example.simulation.GameSimulator;
+import org.example.report.ConsoleReporter;
+import org.example.report.JsonLinesReporter;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+import org.example.report.SummaryReporter;
+import org.example.report.VerdictWriter;
+import org.example.simulation.PositionCache;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.Perft;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 public class Main {
 
-    // counting successful moves
-    public static int countMoves = 0;
-
     // core of the program
     public static void main(String[] args) {
-        if (args.length < 1) {
+        if (args.length > 0 && args[0].equals("perft")) {
+            runPerft(args);
+            return;
+        }
+
+        String filePath = null;
+        String checkpointPath = null;
+        String logPath = null;
+        String reportPath = null;
+        boolean quiet = false;
+        boolean summary = false;
+        boolean metrics = false;
+        long metricsInterval = 0;
+        long progressInterval = 0;
+        int threads = 1;
+        GameParser.Ingestion ingestion = GameParser.Ingestion.READER;
+        GameParser.Movetext movetext = GameParser.Movetext.REGEX;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallel" -> threads = Runtime.getRuntime().availableProcessors();
+                case "--mmap" -> ingestion = GameParser.Ingestion.MEMORY_MAPPED;
+                case "--tokenizer" -> movetext = GameParser.Movetext.TOKENIZER;
+                case "--quiet" -> quiet = true;
+                case "--summary" -> summary = true;
+                case "--metrics" -> metrics = true;
+                case "--metrics-interval" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --metrics-interval");
+                        return;
+                    }
+                    try {
+                        metricsInterval = Long.parseLong(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid metrics interval: " + args[i]);
+                        return;
+                    }
+                    metrics = true;
+                }
+                case "--log" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --log");
+                        return;
+                    }
+                    logPath = args[++i];
+                }
+                case "--report" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --report");
+                        return;
+                    }
+                    reportPath = args[++i];
+                }
+                case "--progress" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --progress");
+                        return;
+                    }
+                    try {
+                        progressInterval = Long.parseLong(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid progress interval: " + args[i]);
+                        return;
+                    }
+                }
+                case "--checkpoint" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --checkpoint");
+                        return;
+                    }
+                    checkpointPath = args[++i];
+                }
+                case "--threads" -> {
+                    if (i + 1 >= args.length) {
+                        System.out.println("Missing value for --threads");
+                        return;
+                    }
+                    try {
+                        threads = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid thread count: " + args[i]);
+                        return;
+                    }
+                }
+                default -> filePath = args[i];
+            }
+        }
+
+        if (filePath == null) {
             System.out.println("Please provide a path to a PGN file");
             return;
         }
+        if (threads < 1) {
+            System.out.println("Thread count must be positive");
+            return;
+        }
+        if (metricsInterval < 0 || progressInterval < 0) {
+            System.out.println("Report intervals must not be negative");
+            return;
+        }
+        // only the memory-mapped reader knows the byte offsets of the games
+        if (checkpointPath != null && ingestion != GameParser.Ingestion.MEMORY_MAPPED) {
+            System.out.println("--checkpoint requires --mmap");
+            return;
+        }
+        Metrics.setEnabled(metrics);
+
+        Reporter reporter;
+        JsonLinesReporter log = null;
+        if (logPath != null) {
+            try {
+                log = new JsonLinesReporter(Files.newBufferedWriter(Path.of(logPath)));
+            } catch (IOException e) {
+                System.out.println("Cannot open log file: " + e.getMessage());
+                return;
+            }
+            reporter = log;
+        } else if (summary) {
+            reporter = new SummaryReporter();
+        } else if (quiet) {
+            reporter = new SilentReporter();
+        } else {
+            reporter = new ConsoleReporter();
+        }
+
+        Checkpoint checkpoint = null;
+        long offset = 0;
+        if (checkpointPath != null) {
+            try {
+                checkpoint = new Checkpoint(Path.of(checkpointPath), Checkpoint.DEFAULT_INTERVAL, reporter);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                closeOutputs(log, null);
+                return;
+            }
+            offset = checkpoint.getOffset();
+            if (offset > 0) {
+                System.out.println("Resuming from byte " + offset);
+            }
+        }
 
-        String filePath = args[0]; // Gets the first command-line argument
-        GameParser gameParser = new GameParser();
+        VerdictWriter verdicts = null;
+        if (reportPath != null) {
+            try {
+                verdicts = new VerdictWriter(Files.newBufferedWriter(Path.of(reportPath)),
+                        VerdictWriter.formatOf(reportPath));
+            } catch (IOException e) {
+                System.out.println("Cannot open report file: " + e.getMessage());
+                closeOutputs(log, null);
+                return;
+            }
+        }
+
+        GameParser gameParser = new GameParser(ingestion, movetext, reporter);
+        BatchValidator validator = new BatchValidator(threads, new PositionCache(), checkpoint, reporter);
+        validator.setVerdicts(verdicts);
 
-        List<Record> records = gameParser.parsingMoves(filePath);
+        // games are simulated as soon as the parser reads them
+        long start = System.nanoTime();
+        PeriodicReport periodic = (metricsInterval > 0)
+                ? new PeriodicReport(validator.getStats(), metricsInterval, System.out) : null;
+        ValidationStats stats;
+        try (Stream<Record> records = gameParser.streamingMoves(filePath, offset)) {
+            // created once the stream is open, when the parser knows the file size and starting offset
+            ProgressReport progress = (progressInterval > 0)
+                    ? new ProgressReport(gameParser, validator.getStats(), progressInterval, System.out) : null;
+            try {
+                stats = validator.validate(records);
+            } finally {
+                if (progress != null) {
+                    progress.close();
+                }
+            }
+        } finally {
+            if (periodic != null) {
+                periodic.close();
+            }
+            // flush the log and the verdicts even if validation stopped with an exception
+            closeOutputs(log, verdicts);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
+        if (reporter instanceof SummaryReporter) {
+            System.out.println(reporter);
+            if (stats.getFailedGames() > 0) {
+                System.out.println("Failures: " + stats.failuresToString());
+            }
+        }
 
-        for(Record record : records){
-            GameSimulator gameSimulator = new GameSimulator(record);
-            gameSimulator.runGame();
+        if (metrics) {
+            System.out.println(Metrics.report(stats, elapsed));
+            System.out.println(validator.getCache());
         }
 
-        System.out.println(countMoves);
+        System.out.println(stats);
+        System.out.println(stats.getMoves());
     }
 
-    // testing
-//    public static void main(String[] args) {
-////        String filePath = "C:\\autocode-demo\\ChessGame\\src\\main\\java\\org\\example\\badOne.pgn";
-//        String filePath = "src/test/java/real_PGN_examples/badOne.pgn";
-//        GameParser gameParser = new GameParser();
-//
-//        // return all games, parsed into objects, each game in Record.
-//        List<Record> records = gameParser.parsingMoves(filePath);
-//
-//        for(Record record : records){
-//            GameSimulator gameSimulator = new GameSimulator(record);
-//            gameSimulator.runGame();
-//        }
-//
-//        System.out.println(countMoves);
-//    }
+    private static void closeOutputs(JsonLinesReporter log, VerdictWriter verdicts) {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.out.println("Error during writing log: " + e.getMessage());
+            }
+        }
+        if (verdicts != null) {
+            try {
+                verdicts.close();
+            } catch (IOException e) {
+                System.out.println("Error during writing report: " + e.getMessage());
+            }
+        }
+    }
 
+    // perft <depth> [fen]
+    private static void runPerft(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: perft <depth> [fen]");
+            return;
+        }
+        int depth;
+        try {
+            depth = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid depth: " + args[1]);
+            return;
+        }
+        if (depth < 0) {
+            System.out.println("Depth must not be negative");
+            return;
+        }
+
+        // the FEN may be passed as one argument or split on its spaces
+        String fen = (args.length > 2)
+                ? String.join(" ", Arrays.copyOfRange(args, 2, args.length))
+                : BitboardPosition.START_FEN;
+        try {
+            Perft.run(fen, depth);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package org.example.batch;
+
+import org.example.metrics.Metrics;
+import org.example.metrics.Phase;
+import org.example.parsing.Record;
+import org.example.report.GameVerdict;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+import org.example.report.VerdictWriter;
+import org.example.simulation.GameSimulator;
+import org.example.simulation.PositionCache;
+import org.example.simulation.ValidationError;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Validates a stream of parsed games, either on the calling thread or on a bounded pool of workers.
+ * Every game gets its own GameSimulator; workers share only the counters in ValidationStats
+ * and the thread-safe PositionCache of checkmate results.
+ * An exception in one game counts that game as failed and does not stop the batch;
+ * an optional Checkpoint records how far into the file all games are finished,
+ * and an optional VerdictWriter receives the outcome of every game.
+ */
+public class BatchValidator {
+    // how many parsed games may wait for a worker, per worker thread
+    private static final int QUEUED_GAMES_PER_THREAD = 4;
+
+    private final int threads;
+    private final ValidationStats stats = new ValidationStats();
+    private final PositionCache cache;
+    private final Checkpoint checkpoint;
+    private final Reporter reporter;
+    private VerdictWriter verdicts;
+    // games handed out so far, only used by the thread reading the stream
+    private long submitted = 0;
+
+    /**
+     * @param threads Number of worker threads; 1 validates sequentially on the calling thread
+     */
+    public BatchValidator(int threads) {
+        this(threads, new PositionCache());
+    }
+
+    /**
+     * @param threads Number of worker threads; 1 validates sequentially on the calling thread
+     * @param cache Checkmate results shared by all games, or null to disable caching
+     */
+    public BatchValidator(int threads, PositionCache cache) {
+        this(threads, cache, null);
+    }
+
+    /**
+     * @param threads Number of worker threads; 1 validates sequentially on the calling thread
+     * @param cache Checkmate results shared by all games, or null to disable caching
+     * @param checkpoint Progress of the file being validated, or null
+     */
+    public BatchValidator(int threads, PositionCache cache, Checkpoint checkpoint) {
+        this(threads, cache, checkpoint, new SilentReporter());
+    }
+
+    /**
+     * @param threads Number of worker threads; 1 validates sequentially on the calling thread
+     * @param cache Checkmate results shared by all games, or null to disable caching
+     * @param checkpoint Progress of the file being validated, or null
+     * @param reporter Receives the diagnostics of every game, must be thread-safe
+     */
+    public BatchValidator(int threads, PositionCache cache, Checkpoint checkpoint, Reporter reporter) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.cache = cache;
+        this.checkpoint = checkpoint;
+        this.reporter = reporter;
+    }
+
+    public ValidationStats getStats() {
+        return stats;
+    }
+
+    public PositionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * @param verdicts Receives a GameVerdict for every validated game, or null for none;
+     *                 set it before calling validate
+     */
+    public void setVerdicts(VerdictWriter verdicts) {
+        this.verdicts = verdicts;
+    }
+
+    /**
+     * Simulates every game of the stream and waits until all of them are validated.
+     *
+     * @param records Parsed games (null elements are games that failed to parse)
+     * @return The aggregated totals of this validator
+     */
+    public ValidationStats validate(Stream<Record> records) {
+        if (threads == 1) {
+            try {
+                records.forEachOrdered(record -> validateGame(record, submitted++));
+            } finally {
+                saveCheckpoint();
+            }
+            return stats;
+        }
+
+        // A full queue makes the parsing thread simulate the game itself,
+        // which keeps the number of games held in memory bounded.
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_GAMES_PER_THREAD),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            records.forEachOrdered(record -> {
+                long sequence = submitted++;
+                workers.execute(() -> validateGame(record, sequence));
+            });
+        } finally {
+            workers.shutdown();
+            awaitWorkers(workers);
+            saveCheckpoint();
+        }
+        return stats;
+    }
+
+    private void validateGame(Record record, long sequence) {
+        GameSimulator gameSimulator = null;
+        ValidationError error;
+        long start = Metrics.start();
+        try {
+            gameSimulator = new GameSimulator(record, cache, reporter);
+            gameSimulator.runGame();
+            error = gameSimulator.getError();
+        } catch (RuntimeException e) {
+            reporter.error("Error: " + e + " while validating game " + (sequence + 1));
+            error = ValidationError.INTERNAL_ERROR;
+        }
+        Metrics.stop(Phase.GAME, start);
+        int plies = (gameSimulator == null) ? 0 : gameSimulator.getCompletedMoves();
+        stats.recordGame(error, plies);
+
+        if (verdicts != null) {
+            verdicts.write(new GameVerdict(sequence + 1,
+                    (record == null) ? null : record.getTags(),
+                    (record == null) ? null : record.getResult(),
+                    plies,
+                    (gameSimulator == null) ? 0 : gameSimulator.getFailedPly(),
+                    error,
+                    (error == null) ? gameSimulator.getResultVerification() : null));
+        }
+
+        if (checkpoint != null) {
+            checkpoint.gameFinished(sequence, (record == null) ? -1 : record.getEndOffset());
+        }
+    }
+
+    private void saveCheckpoint() {
+        if (checkpoint != null) {
+            checkpoint.save();
+        }
+    }
+
+    private static void awaitWorkers(ThreadPoolExecutor workers) {
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting, large games can take a while
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.batch;
+
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers how far into a PGN file validation has got, so an interrupted run can resume there.
+ * The saved value is the byte offset just past the last game for which it and every earlier game
+ * is finished; with several workers games finish out of order, so later ones wait in a map
+ * until the gap before them is closed.
+ *
+ * The file holds the offset as text and is replaced atomically, so a crash while saving
+ * leaves the previous checkpoint intact. Errors while writing are reported and do not stop the run.
+ */
+public class Checkpoint {
+    public static final int DEFAULT_INTERVAL = 100;
+
+    private final Path file;
+    private final int interval;
+    private final Reporter reporter;
+
+    // end offsets of finished games that still wait for an earlier game, by sequence number
+    private final Map<Long, Long> waiting = new HashMap<>();
+    private long nextSequence = 0;
+    private long offset;
+    private int unsaved = 0;
+
+    /**
+     * Loads the offset saved by an earlier run, 0 if there is none.
+     *
+     * @param file The checkpoint file
+     * @param interval Number of finished games between two saves
+     * @param reporter Receives the errors of saving and deleting the file
+     */
+    public Checkpoint(Path file, int interval, Reporter reporter) throws IOException {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.file = file;
+        this.interval = interval;
+        this.reporter = reporter;
+        this.offset = read(file);
+    }
+
+    public Checkpoint(Path file, int interval) throws IOException {
+        this(file, interval, new SilentReporter());
+    }
+
+    public Checkpoint(Path file) throws IOException {
+        this(file, DEFAULT_INTERVAL);
+    }
+
+    private static long read(Path file) throws IOException {
+        try {
+            return Long.parseLong(Files.readString(file).trim());
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint file " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The byte offset all games before which are finished
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Marks a game as finished, valid or not.
+     *
+     * @param sequence Position of the game in the stream, starting at 0 for the first game of this run
+     * @param endOffset Byte offset just past the game, or -1 if unknown (the game is then covered
+     *                  by the next one with an offset)
+     */
+    public synchronized void gameFinished(long sequence, long endOffset) {
+        waiting.put(sequence, endOffset);
+        Long end;
+        while ((end = waiting.remove(nextSequence)) != null) {
+            nextSequence++;
+            if (end >= 0) {
+                offset = end;
+            }
+            unsaved++;
+        }
+        if (unsaved >= interval) {
+            save();
+        }
+    }
+
+    /**
+     * Writes the current offset. A failed write is reported and retried with the next save.
+     */
+    public synchronized void save() {
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(offset));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            unsaved = 0;
+        } catch (IOException e) {
+            reporter.error("Error during writing checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the checkpoint once the whole file is validated, so the next run starts from the beginning.
+     */
+    public synchronized void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            reporter.error("Error during deleting checkpoint: " + e.getMessage());
+        }
+    }
+}
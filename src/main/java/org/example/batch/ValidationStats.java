@@ -0,0 +1,89 @@
+package org.example.batch;
+
+import org.example.simulation.ValidationError;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe totals collected while validating a batch of games.
+ * Workers only ever add to the counters, so they can be shared freely between threads.
+ * Failed games are also counted by ValidationError, which gives a histogram of the failure kinds.
+ */
+public class ValidationStats {
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder validGames = new LongAdder();
+    private final LongAdder failedGames = new LongAdder();
+    // failed games by ValidationError ordinal
+    private final LongAdder[] failures = new LongAdder[ValidationError.values().length];
+
+    public ValidationStats() {
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the outcome of one simulated game.
+     *
+     * @param error why the game failed, null if every move of the game was valid
+     * @param completedMoves number of moves that were validated before the game ended or failed
+     */
+    public void recordGame(ValidationError error, int completedMoves) {
+        moves.add(completedMoves);
+        if (error == null) {
+            validGames.increment();
+        } else {
+            failedGames.increment();
+            failures[error.ordinal()].increment();
+        }
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getValidGames() {
+        return validGames.sum();
+    }
+
+    public long getFailedGames() {
+        return failedGames.sum();
+    }
+
+    public long getGames() {
+        return getValidGames() + getFailedGames();
+    }
+
+    /**
+     * @return Number of games that failed with the given error
+     */
+    public long getFailures(ValidationError error) {
+        return failures[error.ordinal()].sum();
+    }
+
+    /**
+     * @return The errors that occurred with their counts, e.g. "CHECK_MISMATCH: 3, NO_RECORD: 1",
+     *         or an empty string if no game failed
+     */
+    public String failuresToString() {
+        StringBuilder histogram = new StringBuilder();
+        for (ValidationError error : ValidationError.values()) {
+            long count = getFailures(error);
+            if (count > 0) {
+                if (!histogram.isEmpty()) {
+                    histogram.append(", ");
+                }
+                histogram.append(error.name()).append(": ").append(count);
+            }
+        }
+        return histogram.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Games: " + getGames() +
+                ", valid: " + getValidGames() +
+                ", failed: " + getFailedGames() +
+                ", moves: " + getMoves();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.metrics;
+
+import org.example.batch.ValidationStats;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints Metrics.report at a fixed interval from a daemon thread while a run is in progress.
+ */
+public class PeriodicReport implements Closeable {
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts reporting; the first report is printed after one interval.
+     *
+     * @param stats Totals of the running batch
+     * @param intervalSeconds Time between two reports
+     * @param out Where reports are printed
+     */
+    public PeriodicReport(ValidationStats stats, long intervalSeconds, PrintStream out) {
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("Report interval must be positive: " + intervalSeconds);
+        }
+        long start = System.nanoTime();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.println(Metrics.report(stats, System.nanoTime() - start)),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.metrics;
+
+/**
+ * The stages of a run that Metrics times. Phases nest: parsing a game includes
+ * constructing its moves, and validating a game includes the lookups and checks below it.
+ */
+public enum Phase {
+    PARSE("parse game"),
+    MOVE("construct move"),
+    GAME("validate game"),
+    IDENTIFY_PIECE("identify piece"),
+    CHECK("detect check"),
+    CHECKMATE("detect checkmate");
+
+    private final String description;
+
+    Phase(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.metrics;
+
+import org.example.batch.ValidationStats;
+import org.example.parsing.GameParser;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints how far a run has got at a fixed interval from a daemon thread: bytes of the file
+ * consumed by the parser, games parsed and validated, the validation rate since the previous
+ * report and the estimated time left. It only polls counters the parser and the workers keep
+ * anyway, so it does not slow them down.
+ */
+public class ProgressReport implements Closeable {
+    private final GameParser parser;
+    private final ValidationStats stats;
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler;
+
+    private final long startNanos = System.nanoTime();
+    private final long startBytes;
+    // state of the previous report, only used by the reporting thread
+    private long lastNanos = startNanos;
+    private long lastGames = 0;
+
+    /**
+     * Starts reporting on a stream the parser has already opened; the first report is printed
+     * after one interval.
+     *
+     * @param parser The parser whose stream is being validated
+     * @param stats Totals of the running batch
+     * @param intervalSeconds Time between two reports
+     * @param out Where reports are printed
+     */
+    public ProgressReport(GameParser parser, ValidationStats stats, long intervalSeconds, PrintStream out) {
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("Progress interval must be positive: " + intervalSeconds);
+        }
+        this.parser = parser;
+        this.stats = stats;
+        this.out = out;
+        this.startBytes = parser.getBytesRead();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "progress-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.println(report()), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return One line such as "Progress: 1024.0 of 5120.0 MB (20.0%), parsed: 51200, validated: 51000,
+     *         850.0 games/s, ETA 1h 20m 19s"
+     */
+    String report() {
+        long now = System.nanoTime();
+        long bytes = parser.getBytesRead();
+        long size = parser.getFileSize();
+        long games = stats.getGames();
+
+        double seconds = Math.max(now - lastNanos, 1) / 1e9;
+        double gamesPerSecond = (games - lastGames) / seconds;
+        lastNanos = now;
+        lastGames = games;
+
+        // the ETA uses the average byte rate of the whole run, which is steadier than the last interval
+        long consumed = bytes - startBytes;
+        String eta = (consumed > 0)
+                ? formatDuration((long) ((double) (size - bytes) * (now - startNanos) / consumed / 1e9))
+                : "unknown";
+
+        return String.format("Progress: %.1f of %.1f MB (%.1f%%), parsed: %d, validated: %d, %.1f games/s, ETA %s",
+                bytes / 1048576.0, size / 1048576.0, (size == 0) ? 100.0 : 100.0 * bytes / size,
+                parser.getGamesParsed(), games, gamesPerSecond, eta);
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds >= 3600) {
+            return String.format("%dh %dm %ds", seconds / 3600, seconds % 3600 / 60, seconds % 60);
+        }
+        if (seconds >= 60) {
+            return String.format("%dm %ds", seconds / 60, seconds % 60);
+        }
+        return seconds + "s";
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,18 +1,79 @@
 package org.example.parsing;
 
+import org.example.metrics.Metrics;
+import org.example.metrics.Phase;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
 import org.example.simulation.pieces.attributes.Color;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class handles the parsing of PGN (Portable Game Notation) files for chess games.
  * It extracts game metadata, moves, annotations, and results from PGN formatted text.
  */
 public class GameParser {
+    /**
+     * How the PGN file is read from disk.
+     */
+    public enum Ingestion {
+        // BufferedReader, one String per line
+        READER,
+        // FileChannel.map, game boundaries and tags found directly in the file bytes
+        MEMORY_MAPPED
+    }
+
+    /**
+     * How the movetext of a game is split into moves.
+     */
+    public enum Movetext {
+        // regular expressions matched move by move
+        REGEX,
+        // single linear pass of MovetextTokenizer
+        TOKENIZER
+    }
+
+    private final Ingestion ingestion;
+    private final Movetext movetext;
+    private final Reporter reporter;
+    // progress of the stream being read, written only by the thread that consumes it
+    private volatile long bytesRead = 0;
+    private volatile long fileSize = 0;
+    private volatile long gamesParsed = 0;
+
+    public GameParser() {
+        this(Ingestion.READER, Movetext.REGEX);
+    }
+
+    public GameParser(Ingestion ingestion) {
+        this(ingestion, Movetext.REGEX);
+    }
+
+    public GameParser(Ingestion ingestion, Movetext movetext) {
+        this(ingestion, movetext, new SilentReporter());
+    }
+
+    /**
+     * @param reporter Receives parse errors and the per-game progress messages
+     */
+    public GameParser(Ingestion ingestion, Movetext movetext, Reporter reporter) {
+        this.ingestion = ingestion;
+        this.movetext = movetext;
+        this.reporter = reporter;
+    }
+
     // Regular expression pattern for validating PGN tags
     private final Pattern VALID_TAG_PATTERN = Pattern.compile("^\\[([A-Za-z]+)\\s+\"(.*)\"\\]$");
 
@@ -95,7 +156,7 @@ public class GameParser {
      * @return A Record object containing the parsed game, or null if parsing fails
      */
     private Record getMovesFromString(String text, Map<String,String> tags) {
-        Map<Integer, Move[]> result = new HashMap<>();
+        MoveList result = new MoveList();
 
         text = text.replaceAll("\n"," ").replaceAll("\\s+", " ").trim();
 
@@ -124,26 +185,24 @@ public class GameParser {
                 }
 
                 if(currentRound != previousLevel +1){
-                    System.out.println("Missing round, last level identified was "+previousLevel);
+                    reporter.error("Missing round, last level identified was "+previousLevel);
                     break;
                 }
-                else if(result.containsKey(currentRound)){
-                    System.out.println("Duplicate rounds, duplicated value: "+currentRound);
+                else if(result.getRoundCount() >= currentRound){
+                    reporter.warning("Duplicate rounds, duplicated value: "+currentRound);
                 }
 
-                result.put(currentRound, new Move[2]);
-
                 white = white.substring(i+1);
 
                 whiteMove = generateMove(white,Color.white);
 
-                result.get(currentRound)[0] = whiteMove;
+                result.append(whiteMove);
 
                 // remove white move
                 text = text.substring(whiteMatcher.end()).trim();
             }
             else {
-                System.out.println("Error at "+(previousLevel+1)+" during parsing white move");
+                reporter.error("Error at "+(previousLevel+1)+" during parsing white move");
                 break;
             }
 
@@ -157,7 +216,7 @@ public class GameParser {
                     case "0-1": winner = "black"; break;
                     case "1/2-1/2": winner = "draw"; break;
                     case "*": winner = "undefined"; break;
-                    default: System.out.println("Error during identifying winner"); break label;
+                    default: reporter.error("Error during identifying winner"); break label;
                 }
                 break;
             }
@@ -169,7 +228,7 @@ public class GameParser {
 
                 // if we have comment in white, we must have digit...
                 if(whiteMove.getComment() == null && Character.isDigit(black.charAt(0))){
-                    System.out.println("Wrong interpretation in black move, there is not comment in white: "+black);
+                    reporter.error("Wrong interpretation in black move, there is not comment in white: "+black);
                     break;
                 }
 
@@ -181,7 +240,7 @@ public class GameParser {
                         i++;
                     }
                     if(blackRound != currentRound){
-                        System.out.println("White round and black round are not same: "+whiteMove+ " != "+blackRound);
+                        reporter.error("White round and black round are not same: "+whiteMove+ " != "+blackRound);
                         break;
                     }
 
@@ -190,7 +249,7 @@ public class GameParser {
 
                 blackMove = generateMove(black,Color.black);
 
-                result.get(currentRound)[1] = blackMove;
+                result.append(blackMove);
 
                 text = text.substring(blackMatcher.end()).trim();
 
@@ -202,13 +261,13 @@ public class GameParser {
                         case "0-1": winner = "black"; break;
                         case "1/2-1/2": winner = "draw"; break;
                         case "*": winner = "undefined"; break;
-                        default: System.out.println("Error during identifying winner"); break label;
+                        default: reporter.error("Error during identifying winner"); break label;
                     }
                     break;
                 }
             }
             else {
-                System.out.println("Error at round "+currentRound+", undefined symbols");
+                reporter.error("Error at round "+currentRound+", undefined symbols");
                 break;
             }
 
@@ -216,15 +275,167 @@ public class GameParser {
         }
 
         if(winner != null){
-            System.out.println("Successful game");
-            System.out.println(winner);
-            System.out.println("------------------------------------");
+            reporter.info("Successful game");
+            reporter.info(winner);
+            reporter.info("------------------------------------");
             return new Record(tags, result, winner);
         }
 
         return null;
     }
 
+    /**
+     * Parses the movetext of one game with the parser mode this GameParser was created with.
+     *
+     * @param text The PGN movetext to parse
+     * @param tags The metadata tags associated with the game
+     * @return A Record object containing the parsed game, or null if parsing fails
+     */
+    private Record parseMovetext(CharSequence text, Map<String,String> tags) {
+        // a malformed game must not end the whole file
+        long start = Metrics.start();
+        try {
+            return (movetext == Movetext.TOKENIZER)
+                    ? getMovesFromTokens(text, tags)
+                    : getMovesFromString(text.toString(), tags);
+        }
+        catch (RuntimeException e) {
+            reporter.error("Error during parsing game: " + e);
+            return null;
+        }
+        finally {
+            Metrics.stop(Phase.PARSE, start);
+        }
+    }
+
+    /**
+     * Extracts chess moves from PGN movetext in one pass of MovetextTokenizer.
+     * Accepts and rejects exactly the games getMovesFromString does and reports the same errors.
+     *
+     * @param text The PGN movetext to parse
+     * @param tags The metadata tags associated with the game
+     * @return A Record object containing the parsed game, or null if parsing fails
+     */
+    private Record getMovesFromTokens(CharSequence text, Map<String,String> tags) {
+        MoveList result = new MoveList();
+        MovetextTokenizer tokenizer = new MovetextTokenizer(text);
+        MovetextTokenizer.TokenType token = tokenizer.next();
+
+        int previousLevel = 0;
+        String winner = null;
+
+        while (true) {
+            // white move: number with a single dot, then the move
+            if (token != MovetextTokenizer.TokenType.MOVE_NUMBER || tokenizer.getDots() != 1) {
+                reporter.error("Error at "+(previousLevel+1)+" during parsing white move");
+                break;
+            }
+            int currentRound = tokenizer.getNumber();
+            token = tokenizer.next();
+            if (token != MovetextTokenizer.TokenType.SAN) {
+                reporter.error("Error at "+(previousLevel+1)+" during parsing white move");
+                break;
+            }
+            if (currentRound != previousLevel + 1) {
+                reporter.error("Missing round, last level identified was "+previousLevel);
+                break;
+            }
+
+            String action = tokenizer.getText();
+            tokenizer.next();
+            Move whiteMove = readAnnotatedMove(tokenizer, action, Color.white);
+            token = tokenizer.getType();
+
+            result.append(whiteMove);
+
+            if (token == MovetextTokenizer.TokenType.RESULT) {
+                winner = readWinner(tokenizer);
+                break;
+            }
+
+            // black move: optional number with three dots, then the move
+            int blackRound = 0;
+            boolean numbered = false;
+            if (token == MovetextTokenizer.TokenType.MOVE_NUMBER && tokenizer.getDots() == 3) {
+                blackRound = tokenizer.getNumber();
+                numbered = true;
+                token = tokenizer.next();
+            }
+            if (token != MovetextTokenizer.TokenType.SAN) {
+                reporter.error("Error at round "+currentRound+", undefined symbols");
+                break;
+            }
+            action = tokenizer.getText();
+
+            if (whiteMove.getComment() == null && numbered) {
+                reporter.error("Wrong interpretation in black move, there is not comment in white: "+action);
+                break;
+            }
+            if (whiteMove.getComment() != null && blackRound != currentRound) {
+                reporter.error("White round and black round are not same: "+whiteMove+ " != "+blackRound);
+                break;
+            }
+
+            tokenizer.next();
+            result.append(readAnnotatedMove(tokenizer, action, Color.black));
+            token = tokenizer.getType();
+
+            if (token == MovetextTokenizer.TokenType.RESULT) {
+                winner = readWinner(tokenizer);
+                break;
+            }
+
+            previousLevel = currentRound;
+        }
+
+        if(winner != null){
+            reporter.info("Successful game");
+            reporter.info(winner);
+            reporter.info("------------------------------------");
+            return new Record(tags, result, winner);
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a Move from its SAN and the optional NAG and comment that follow it.
+     * The tokenizer must be on the token after the SAN and is left on the first token after the move.
+     */
+    private Move readAnnotatedMove(MovetextTokenizer tokenizer, String action, Color color) {
+        String annotation = null;
+        String comment = null;
+        if (tokenizer.getType() == MovetextTokenizer.TokenType.NAG) {
+            annotation = tokenizer.getText();
+            tokenizer.next();
+        }
+        if (tokenizer.getType() == MovetextTokenizer.TokenType.COMMENT) {
+            // whitespace inside comments is collapsed, as in the regular expression mode
+            comment = tokenizer.getText().replaceAll("\\s+", " ");
+            tokenizer.next();
+        }
+        return reportNag(newMove(action, comment, annotation, color));
+    }
+
+    /**
+     * Reads the winner from the current RESULT token, which must be the last token of the game.
+     *
+     * @return The winner, or null if anything follows the result
+     */
+    private String readWinner(MovetextTokenizer tokenizer) {
+        String resultText = tokenizer.getText();
+        if (tokenizer.next() != MovetextTokenizer.TokenType.END) {
+            reporter.error("Error during identifying winner");
+            return null;
+        }
+        return switch (resultText) {
+            case "1-0" -> "white";
+            case "0-1" -> "black";
+            case "1/2-1/2" -> "draw";
+            default -> "undefined";
+        };
+    }
+
     /**
      * Generates a Move object from a PGN move string.
      * Parses the action, comments, and annotations from the move text.
@@ -233,7 +444,7 @@ public class GameParser {
      * @param color The color of the player making the move
      * @return A Move object representing the parsed move
      */
-    private static Move generateMove(String element, Color color){
+    private Move generateMove(String element, Color color){
         String comment = null;
         String annotation = null;
         String action;
@@ -259,61 +470,295 @@ public class GameParser {
                 action = element.trim();
             }
         }
-        return new Move(action, comment, annotation, color);
+        return reportNag(newMove(action, comment, annotation, color));
+    }
+
+    private static Move newMove(String action, String comment, String annotation, Color color) {
+        long start = Metrics.start();
+        Move move = new Move(action, comment, annotation, color);
+        Metrics.stop(Phase.MOVE, start);
+        return move;
+    }
+
+    private Move reportNag(Move move) {
+        if (move.getNag() >= 0) {
+            String description = Move.describeNag(move.getNag());
+            if (description != null) {
+                reporter.info(move.getAction() + " " + description);
+            } else {
+                reporter.warning("Invalid annotation, value not defined");
+            }
+        }
+        return move;
+    }
+
+    /**
+     * @return The byte offset the stream being read has got to, read ahead by at most a buffer.
+     *         Updated once per game, so it can be polled from another thread.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return The size of the file being read, 0 before a stream is opened
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @return Number of games the current stream has yielded, including games that failed to parse
+     */
+    public long getGamesParsed() {
+        return gamesParsed;
     }
 
     /**
      * Parses a PGN file and extracts all games into Record objects.
+     * The whole file is materialized in memory, so prefer {@link #streamingMoves(String)}
+     * or {@link #parsingMoves(String, Consumer)} for large databases.
      *
      * @param filePath Path to the PGN file to parse
      * @return A list of Record objects, one for each game in the file
      */
     public List<Record> parsingMoves(String filePath){
         List<Record> records = new ArrayList<>();
+        parsingMoves(filePath, records::add);
+        return records;
+    }
+
+    /**
+     * Parses a PGN file game by game, handing each Record to the consumer as soon as
+     * its movetext is complete. Only one game is held in memory at a time.
+     *
+     * @param filePath Path to the PGN file to parse
+     * @param consumer Receives each parsed game in file order (null for games that failed to parse)
+     */
+    public void parsingMoves(String filePath, Consumer<Record> consumer){
+        try (Stream<Record> records = streamingMoves(filePath)) {
+            records.forEachOrdered(consumer);
+        }
+    }
+
+    /**
+     * Opens a lazy stream over the games of a PGN file. The file is read incrementally,
+     * one game per element, so memory use stays flat regardless of file size.
+     * The stream must be closed to release the underlying file.
+     *
+     * @param filePath Path to the PGN file to parse
+     * @return An ordered stream of Record objects (null elements mark games that failed to parse)
+     */
+    public Stream<Record> streamingMoves(String filePath){
+        return streamingMoves(filePath, 0);
+    }
+
+    /**
+     * Same as streamingMoves(filePath), starting at a byte offset of the file, e.g. to resume
+     * an interrupted run. Memory-mapped ingestion also sets each Record's end offset.
+     *
+     * @param filePath Path to the PGN file to parse
+     * @param offset Byte offset of the start of a game, as returned by Record.getEndOffset
+     * @return An ordered stream of the games from the offset on
+     */
+    public Stream<Record> streamingMoves(String filePath, long offset){
+        GameIterator games;
+        try {
+            games = (ingestion == Ingestion.MEMORY_MAPPED)
+                    ? new MappedGameIterator(new MappedPgnReader(Path.of(filePath), offset))
+                    : new LineGameIterator(FileChannel.open(Path.of(filePath), StandardOpenOption.READ), offset);
+        }
+        catch (IOException e){
+            reporter.error("Error during reading file");
+            return Stream.empty();
+        }
 
-        try(BufferedReader reader = new BufferedReader(new FileReader(filePath))){
-            String line;
-            String lastLine = null;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(games, Spliterator.ORDERED), false)
+                .onClose(games::close);
+    }
 
-            Map<String, String> tags = new HashMap<>();
-            StringBuilder moves = new StringBuilder();
+    /**
+     * Yields one Record per game; subclasses decide how the file is split into games.
+     */
+    private abstract static class GameIterator implements Iterator<Record> {
+        private Record next;
+        private boolean ready = false;
+        boolean finished = false;
+
+        @Override
+        public boolean hasNext() {
+            if (!ready && !finished) {
+                advance();
+            }
+            return ready;
+        }
 
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            Record record = next;
+            next = null;
+            return record;
+        }
 
-            while((line = reader.readLine()) != null){
+        /**
+         * Reads until the next game is complete and hands it to emit, or sets finished.
+         */
+        abstract void advance();
 
-                if(!line.isEmpty()){
+        abstract void close();
 
-                    if(line.charAt(0) == '['){
+        void emit(Record record) {
+            next = record;
+            ready = true;
+        }
+    }
 
-                        if(lastLine != null && lastLine.charAt(0) != '['){
+    private void startProgress(long offset, long size) {
+        bytesRead = offset;
+        fileSize = size;
+        gamesParsed = 0;
+    }
 
-                            Map<String, String> tag = new HashMap<>(tags);
+    private void gameParsed(long position) {
+        bytesRead = position;
+        gamesParsed++;
+    }
 
-                            records.add(getMovesFromString(moves.toString(),tag));
+    /**
+     * Reads PGN text line by line and yields a Record every time a game's movetext
+     * is followed by the next tag section (or by the end of the file).
+     */
+    private class LineGameIterator extends GameIterator {
+        // the channel's position is how far the reader has got, ahead of it by its buffers
+        private final FileChannel channel;
+        private final BufferedReader reader;
+        private Map<String, String> tags = new HashMap<>();
+        private final StringBuilder moves = new StringBuilder();
+        private String lastLine = null;
+
+        LineGameIterator(FileChannel channel, long offset) throws IOException {
+            this.channel = channel;
+            try {
+                channel.position(offset);
+                startProgress(offset, channel.size());
+            }
+            catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            // unlike a decoder from Channels.newReader, InputStreamReader replaces malformed input
+            this.reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+        }
 
+        @Override
+        void advance() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
 
-                            tags = new HashMap<>();
-                            moves = new StringBuilder();
+                    boolean gameComplete = false;
+                    if (line.charAt(0) == '[') {
+                        if (lastLine != null && lastLine.charAt(0) != '[') {
+                            completeGame();
+                            gameComplete = true;
                         }
                         String[] tag = readLine(line);
-                        if(tag != null){
-                            tags.put(tag[0],tag[1]);
+                        if (tag != null) {
+                            tags.put(tag[0], tag[1]);
                         }
                     }
                     else {
                         moves.append(line).append("\n");
                     }
                     lastLine = line;
+
+                    if (gameComplete) {
+                        return;
+                    }
                 }
             }
+            catch (IOException e) {
+                reporter.error("Error during reading file");
+                finished = true;
+                close();
+                return;
+            }
 
-            Map<String, String> tag = new HashMap<>(tags);
-            records.add(getMovesFromString(moves.toString(),tag));
+            // end of input: flush the last game
+            completeGame();
+            finished = true;
+            close();
         }
-        catch (IOException e){
-            System.out.println("Error during reading file");
+
+        private void completeGame() {
+            emit(parseMovetext(moves, tags));
+            tags = new HashMap<>();
+            moves.setLength(0);
+            try {
+                gameParsed(channel.position());
+            }
+            catch (IOException e) {
+                gameParsed(bytesRead);
+            }
         }
 
-        return records;
+        @Override
+        void close() {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                reporter.error("Error during closing file");
+            }
+        }
+    }
+
+    /**
+     * Yields the games found by a MappedPgnReader, which scans the file bytes without per-line Strings.
+     */
+    private class MappedGameIterator extends GameIterator {
+        private final MappedPgnReader reader;
+
+        MappedGameIterator(MappedPgnReader reader) {
+            this.reader = reader;
+            startProgress(reader.getPosition(), reader.getSize());
+        }
+
+        @Override
+        void advance() {
+            try {
+                if (reader.nextGame()) {
+                    Record record = parseMovetext(reader.getMovetext(), reader.getTags());
+                    if (record != null) {
+                        record.setEndOffset(reader.getGameEnd());
+                    }
+                    emit(record);
+                    gameParsed(reader.getPosition());
+                    return;
+                }
+            }
+            catch (IOException e) {
+                reporter.error("Error during reading file");
+            }
+            finished = true;
+            close();
+        }
+
+        @Override
+        void close() {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                reporter.error("Error during closing file");
+            }
+        }
     }
-}
\ No newline at end of file
+}
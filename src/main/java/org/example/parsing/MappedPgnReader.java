@@ -0,0 +1,247 @@
+package org.example.parsing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits a PGN file into games by scanning its bytes through a memory-mapped window.
+ * Lines are never decoded into Strings: tag lines are validated and split in place and
+ * movetext bytes are copied into one reusable buffer, which is decoded once per game.
+ * The game boundaries are the same as the ones GameParser finds with a BufferedReader.
+ */
+class MappedPgnReader implements Closeable {
+    // size of the mapped region; files larger than this are scanned window by window
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    // bounds of the current line inside the window
+    private int lineStart;
+    private int lineEnd;
+
+    private boolean lastLineWasTag = false;
+    private boolean seenLine = false;
+    private boolean finished = false;
+
+    private Map<String, String> tags = new HashMap<>();
+    private byte[] movetext = new byte[4096];
+    private int movetextLength = 0;
+
+    private Map<String, String> gameTags;
+    private String gameMovetext;
+    private long gameEnd;
+
+    MappedPgnReader(Path path) throws IOException {
+        this(path, 0);
+    }
+
+    /**
+     * @param offset Byte offset to start scanning at, the start of a game as returned by getGameEnd
+     */
+    MappedPgnReader(Path path, long offset) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        if (offset < 0 || offset > size) {
+            channel.close();
+            throw new IOException("Offset " + offset + " is outside the file of " + size + " bytes");
+        }
+        map(offset, Math.min(WINDOW_SIZE, size - offset));
+        position = offset;
+    }
+
+    /**
+     * Scans forward until the next game is complete.
+     *
+     * @return true if a game is available through getTags and getMovetext, false at the end of the file
+     */
+    boolean nextGame() throws IOException {
+        if (finished) {
+            return false;
+        }
+
+        while (nextLine()) {
+            if (lineStart == lineEnd) {
+                continue;
+            }
+
+            boolean tagLine = window.get(lineStart) == '[';
+            boolean gameComplete = false;
+            if (tagLine) {
+                if (seenLine && !lastLineWasTag) {
+                    // the game ends where the tag section of the next one begins
+                    gameEnd = windowStart + lineStart;
+                    completeGame();
+                    gameComplete = true;
+                }
+                readTag();
+            }
+            else {
+                appendMovetext();
+            }
+            lastLineWasTag = tagLine;
+            seenLine = true;
+
+            if (gameComplete) {
+                return true;
+            }
+        }
+
+        // end of input: flush the last game
+        gameEnd = size;
+        completeGame();
+        finished = true;
+        return true;
+    }
+
+    Map<String, String> getTags() {
+        return gameTags;
+    }
+
+    String getMovetext() {
+        return gameMovetext;
+    }
+
+    /**
+     * @return The byte offset just past the current game, where scanning can resume later
+     */
+    long getGameEnd() {
+        return gameEnd;
+    }
+
+    /**
+     * @return The byte offset of the first byte that has not been scanned yet
+     */
+    long getPosition() {
+        return position;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void completeGame() {
+        gameTags = tags;
+        gameMovetext = new String(movetext, 0, movetextLength, StandardCharsets.UTF_8);
+        tags = new HashMap<>();
+        movetextLength = 0;
+    }
+
+    /**
+     * Finds the next line, remapping the window when a line crosses its end.
+     * Both '\n' and '\r' end a line; the empty line between "\r\n" is skipped like any blank line.
+     */
+    private boolean nextLine() throws IOException {
+        if (position >= size) {
+            return false;
+        }
+
+        while (true) {
+            int start = (int) (position - windowStart);
+            int limit = window.limit();
+            int end = start;
+            while (end < limit) {
+                byte b = window.get(end);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                end++;
+            }
+
+            if (end == limit && windowStart + limit < size) {
+                // the line continues past the window; a line longer than a window gets a bigger one
+                long length = (start == 0) ? 2L * limit : WINDOW_SIZE;
+                map(position, Math.min(Math.min(length, Integer.MAX_VALUE), size - position));
+                continue;
+            }
+
+            lineStart = start;
+            lineEnd = end;
+            position = windowStart + Math.min(end + 1, limit);
+            return true;
+        }
+    }
+
+    private void map(long start, long length) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+    }
+
+    private void appendMovetext() {
+        int length = lineEnd - lineStart;
+        if (movetextLength + length + 1 > movetext.length) {
+            movetext = Arrays.copyOf(movetext, Math.max(movetext.length * 2, movetextLength + length + 1));
+        }
+        window.get(lineStart, movetext, movetextLength, length);
+        movetextLength += length;
+        movetext[movetextLength++] = '\n';
+    }
+
+    /**
+     * Validates the current line against the PGN tag syntax ([Name "value"]) and stores the pair.
+     * Mirrors GameParser.readLine: the key runs from '[' to the first quote, the value to the next quote.
+     */
+    private void readTag() {
+        int end = lineEnd;
+        while (end > lineStart && (window.get(end - 1) & 0xff) <= ' ') {
+            end--;
+        }
+        if (end - lineStart < 5 || window.get(end - 1) != ']' || window.get(end - 2) != '"') {
+            return;
+        }
+
+        int i = lineStart + 1;
+        while (i < end && isLetter(window.get(i))) {
+            i++;
+        }
+        int nameEnd = i;
+        if (nameEnd == lineStart + 1) {
+            return;
+        }
+        while (i < end && isSpace(window.get(i))) {
+            i++;
+        }
+        if (i == nameEnd || window.get(i) != '"' || i >= end - 2) {
+            return;
+        }
+
+        int valueStart = i + 1;
+        int valueEnd = valueStart;
+        while (window.get(valueEnd) != '"') {
+            valueEnd++;
+        }
+
+        tags.put(decode(lineStart + 1, i), decode(valueStart, valueEnd));
+    }
+
+    private String decode(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isLetter(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+}
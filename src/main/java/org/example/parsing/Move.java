@@ -3,10 +3,6 @@ package org.example.parsing;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.attributes.Position;
 
-import java.util.Map;
-
-import static java.util.Map.entry;
-
 public class Move {
     private char piece;
     private final Color color;
@@ -19,6 +15,8 @@ public class Move {
     private boolean check;
     private boolean checkmate;
     private final String annotation;
+    // numeric annotation glyph of the annotation, -1 if there is none
+    private int nag = -1;
     private boolean promotion;
     private boolean kingSideCastling;
     private boolean queenSideCastling;
@@ -34,148 +32,159 @@ public class Move {
         return queenSideCastling;
     }
 
-    Map<Integer, String> annotations = Map.<Integer, String>ofEntries(
-            entry(0, "null annotation"),
-            entry(1, "good move (traditional \"!\")"),
-            entry(2, "poor move or mistake (traditional \"?\")"),
-            entry(3, "very good or brilliant move (traditional \"!!\")"),
-            entry(4, "very poor move or blunder (traditional \"??\")"),
-            entry(5, "speculative or interesting move (traditional \"!?\")"),
-            entry(6, "questionable or dubious move (traditional \"?!\")"),
-            entry(7, "forced move (all others lose quickly) or only move"),
-            entry(8, "singular move (no reasonable alternatives)"),
-            entry(9, "worst move"),
-            entry(10, "drawish position or even"),
-            entry(11, "equal chances, quiet position"),
-            entry(12, "equal chances, active position"),
-            entry(13, "unclear position"),
-            entry(14, "White has a slight advantage"),
-            entry(15, "Black has a slight advantage"),
-            entry(16, "White has a moderate advantage"),
-            entry(17, "Black has a moderate advantage"),
-            entry(18, "White has a decisive advantage"),
-            entry(19, "Black has a decisive advantage"),
-            entry(20, "White has a crushing advantage (Black should resign)"),
-            entry(21, "Black has a crushing advantage (White should resign)"),
-            entry(22, "White is in zugzwang"),
-            entry(23, "Black is in zugzwang"),
-            entry(24, "White has a slight space advantage"),
-            entry(25, "Black has a slight space advantage"),
-            entry(26, "White has a moderate space advantage"),
-            entry(27, "Black has a moderate space advantage"),
-            entry(28, "White has a decisive space advantage"),
-            entry(29, "Black has a decisive space advantage"),
-            entry(30, "White has a slight time (development) advantage"),
-            entry(31, "Black has a slight time (development) advantage"),
-            entry(32, "White has a moderate time (development) advantage"),
-            entry(33, "Black has a moderate time (development) advantage"),
-            entry(34, "White has a decisive time (development) advantage"),
-            entry(35, "Black has a decisive time (development) advantage"),
-            entry(36, "White has the initiative"),
-            entry(37, "Black has the initiative"),
-            entry(38, "White has a lasting initiative"),
-            entry(39, "Black has a lasting initiative"),
-            entry(40, "White has the attack"),
-            entry(41, "Black has the attack"),
-            entry(42, "White has insufficient compensation for material deficit"),
-            entry(43, "Black has insufficient compensation for material deficit"),
-            entry(44, "White has sufficient compensation for material deficit"),
-            entry(45, "Black has sufficient compensation for material deficit"),
-            entry(46, "White has more than adequate compensation for material deficit"),
-            entry(47, "Black has more than adequate compensation for material deficit"),
-            entry(48, "White has a slight center control advantage"),
-            entry(49, "Black has a slight center control advantage"),
-            entry(50, "White has a moderate center control advantage"),
-            entry(51, "Black has a moderate center control advantage"),
-            entry(52, "White has a decisive center control advantage"),
-            entry(53, "Black has a decisive center control advantage"),
-            entry(54, "White has a slight kingside control advantage"),
-            entry(55, "Black has a slight kingside control advantage"),
-            entry(56, "White has a moderate kingside control advantage"),
-            entry(57, "Black has a moderate kingside control advantage"),
-            entry(58, "White has a decisive kingside control advantage"),
-            entry(59, "Black has a decisive kingside control advantage"),
-            entry(60, "White has a slight queenside control advantage"),
-            entry(61, "Black has a slight queenside control advantage"),
-            entry(62, "White has a moderate queenside control advantage"),
-            entry(63, "Black has a moderate queenside control advantage"),
-            entry(64, "White has a decisive queenside control advantage"),
-            entry(65, "Black has a decisive queenside control advantage"),
-            entry(66, "White has a vulnerable first rank"),
-            entry(67, "Black has a vulnerable first rank"),
-            entry(68, "White has a well protected first rank"),
-            entry(69, "Black has a well protected first rank"),
-            entry(70, "White has a poorly protected king"),
-            entry(71, "Black has a poorly protected king"),
-            entry(72, "White has a well protected king"),
-            entry(73, "Black has a well protected king"),
-            entry(74, "White has a poorly placed king"),
-            entry(75, "Black has a poorly placed king"),
-            entry(76, "White has a well placed king"),
-            entry(77, "Black has a well placed king"),
-            entry(78, "White has a very weak pawn structure"),
-            entry(79, "Black has a very weak pawn structure"),
-            entry(80, "White has a moderately weak pawn structure"),
-            entry(81, "Black has a moderately weak pawn structure"),
-            entry(82, "White has a moderately strong pawn structure"),
-            entry(83, "Black has a moderately strong pawn structure"),
-            entry(84, "White has a very strong pawn structure"),
-            entry(85, "Black has a very strong pawn structure"),
-            entry(86, "White has poor knight placement"),
-            entry(87, "Black has poor knight placement"),
-            entry(88, "White has good knight placement"),
-            entry(89, "Black has good knight placement"),
-            entry(90, "White has poor bishop placement"),
-            entry(91, "Black has poor bishop placement"),
-            entry(92, "White has good bishop placement"),
-            entry(93, "Black has good bishop placement"),
-            entry(94, "White has poor rook placement"),
-            entry(95, "Black has poor rook placement"),
-            entry(96, "White has good rook placement"),
-            entry(97, "Black has good rook placement"),
-            entry(98, "White has poor queen placement"),
-            entry(99, "Black has poor queen placement"),
-            entry(100, "White has good queen placement"),
-            entry(101, "Black has good queen placement"),
-            entry(102, "White has poor piece coordination"),
-            entry(103, "Black has poor piece coordination"),
-            entry(104, "White has good piece coordination"),
-            entry(105, "Black has good piece coordination"),
-            entry(106, "White has played the opening very poorly"),
-            entry(107, "Black has played the opening very poorly"),
-            entry(108, "White has played the opening poorly"),
-            entry(109, "Black has played the opening poorly"),
-            entry(110, "White has played the opening well"),
-            entry(111, "Black has played the opening well"),
-            entry(112, "White has played the opening very well"),
-            entry(113, "Black has played the opening very well"),
-            entry(114, "White has played the middlegame very poorly"),
-            entry(115, "Black has played the middlegame very poorly"),
-            entry(116, "White has played the middlegame poorly"),
-            entry(117, "Black has played the middlegame poorly"),
-            entry(118, "White has played the middlegame well"),
-            entry(119, "Black has played the middlegame well"),
-            entry(120, "White has played the middlegame very well"),
-            entry(121, "Black has played the middlegame very well"),
-            entry(122, "White has played the ending very poorly"),
-            entry(123, "Black has played the ending very poorly"),
-            entry(124, "White has played the ending poorly"),
-            entry(125, "Black has played the ending poorly"),
-            entry(126, "White has played the ending well"),
-            entry(127, "Black has played the ending well"),
-            entry(128, "White has played the ending very well"),
-            entry(129, "Black has played the ending very well"),
-            entry(130, "White has slight counterplay"),
-            entry(131, "Black has slight counterplay"),
-            entry(132, "White has moderate counterplay"),
-            entry(133, "Black has moderate counterplay"),
-            entry(134, "White has decisive counterplay"),
-            entry(135, "Black has decisive counterplay"),
-            entry(136, "White has moderate time control pressure"),
-            entry(137, "Black has moderate time control pressure"),
-            entry(138, "White has severe time control pressure / zeitnot"),
-            entry(139, "Black has severe time control pressure / zeitnot")
-    );
+    // descriptions of the numeric annotation glyphs, indexed by NAG code; null for codes without one
+    private static final String[] NAG_DESCRIPTIONS = new String[140];
+
+    static {
+        NAG_DESCRIPTIONS[0] = "null annotation";
+        NAG_DESCRIPTIONS[1] = "good move (traditional \"!\")";
+        NAG_DESCRIPTIONS[2] = "poor move or mistake (traditional \"?\")";
+        NAG_DESCRIPTIONS[3] = "very good or brilliant move (traditional \"!!\")";
+        NAG_DESCRIPTIONS[4] = "very poor move or blunder (traditional \"??\")";
+        NAG_DESCRIPTIONS[5] = "speculative or interesting move (traditional \"!?\")";
+        NAG_DESCRIPTIONS[6] = "questionable or dubious move (traditional \"?!\")";
+        NAG_DESCRIPTIONS[7] = "forced move (all others lose quickly) or only move";
+        NAG_DESCRIPTIONS[8] = "singular move (no reasonable alternatives)";
+        NAG_DESCRIPTIONS[9] = "worst move";
+        NAG_DESCRIPTIONS[10] = "drawish position or even";
+        NAG_DESCRIPTIONS[11] = "equal chances, quiet position";
+        NAG_DESCRIPTIONS[12] = "equal chances, active position";
+        NAG_DESCRIPTIONS[13] = "unclear position";
+        NAG_DESCRIPTIONS[14] = "White has a slight advantage";
+        NAG_DESCRIPTIONS[15] = "Black has a slight advantage";
+        NAG_DESCRIPTIONS[16] = "White has a moderate advantage";
+        NAG_DESCRIPTIONS[17] = "Black has a moderate advantage";
+        NAG_DESCRIPTIONS[18] = "White has a decisive advantage";
+        NAG_DESCRIPTIONS[19] = "Black has a decisive advantage";
+        NAG_DESCRIPTIONS[20] = "White has a crushing advantage (Black should resign)";
+        NAG_DESCRIPTIONS[21] = "Black has a crushing advantage (White should resign)";
+        NAG_DESCRIPTIONS[22] = "White is in zugzwang";
+        NAG_DESCRIPTIONS[23] = "Black is in zugzwang";
+        NAG_DESCRIPTIONS[24] = "White has a slight space advantage";
+        NAG_DESCRIPTIONS[25] = "Black has a slight space advantage";
+        NAG_DESCRIPTIONS[26] = "White has a moderate space advantage";
+        NAG_DESCRIPTIONS[27] = "Black has a moderate space advantage";
+        NAG_DESCRIPTIONS[28] = "White has a decisive space advantage";
+        NAG_DESCRIPTIONS[29] = "Black has a decisive space advantage";
+        NAG_DESCRIPTIONS[30] = "White has a slight time (development) advantage";
+        NAG_DESCRIPTIONS[31] = "Black has a slight time (development) advantage";
+        NAG_DESCRIPTIONS[32] = "White has a moderate time (development) advantage";
+        NAG_DESCRIPTIONS[33] = "Black has a moderate time (development) advantage";
+        NAG_DESCRIPTIONS[34] = "White has a decisive time (development) advantage";
+        NAG_DESCRIPTIONS[35] = "Black has a decisive time (development) advantage";
+        NAG_DESCRIPTIONS[36] = "White has the initiative";
+        NAG_DESCRIPTIONS[37] = "Black has the initiative";
+        NAG_DESCRIPTIONS[38] = "White has a lasting initiative";
+        NAG_DESCRIPTIONS[39] = "Black has a lasting initiative";
+        NAG_DESCRIPTIONS[40] = "White has the attack";
+        NAG_DESCRIPTIONS[41] = "Black has the attack";
+        NAG_DESCRIPTIONS[42] = "White has insufficient compensation for material deficit";
+        NAG_DESCRIPTIONS[43] = "Black has insufficient compensation for material deficit";
+        NAG_DESCRIPTIONS[44] = "White has sufficient compensation for material deficit";
+        NAG_DESCRIPTIONS[45] = "Black has sufficient compensation for material deficit";
+        NAG_DESCRIPTIONS[46] = "White has more than adequate compensation for material deficit";
+        NAG_DESCRIPTIONS[47] = "Black has more than adequate compensation for material deficit";
+        NAG_DESCRIPTIONS[48] = "White has a slight center control advantage";
+        NAG_DESCRIPTIONS[49] = "Black has a slight center control advantage";
+        NAG_DESCRIPTIONS[50] = "White has a moderate center control advantage";
+        NAG_DESCRIPTIONS[51] = "Black has a moderate center control advantage";
+        NAG_DESCRIPTIONS[52] = "White has a decisive center control advantage";
+        NAG_DESCRIPTIONS[53] = "Black has a decisive center control advantage";
+        NAG_DESCRIPTIONS[54] = "White has a slight kingside control advantage";
+        NAG_DESCRIPTIONS[55] = "Black has a slight kingside control advantage";
+        NAG_DESCRIPTIONS[56] = "White has a moderate kingside control advantage";
+        NAG_DESCRIPTIONS[57] = "Black has a moderate kingside control advantage";
+        NAG_DESCRIPTIONS[58] = "White has a decisive kingside control advantage";
+        NAG_DESCRIPTIONS[59] = "Black has a decisive kingside control advantage";
+        NAG_DESCRIPTIONS[60] = "White has a slight queenside control advantage";
+        NAG_DESCRIPTIONS[61] = "Black has a slight queenside control advantage";
+        NAG_DESCRIPTIONS[62] = "White has a moderate queenside control advantage";
+        NAG_DESCRIPTIONS[63] = "Black has a moderate queenside control advantage";
+        NAG_DESCRIPTIONS[64] = "White has a decisive queenside control advantage";
+        NAG_DESCRIPTIONS[65] = "Black has a decisive queenside control advantage";
+        NAG_DESCRIPTIONS[66] = "White has a vulnerable first rank";
+        NAG_DESCRIPTIONS[67] = "Black has a vulnerable first rank";
+        NAG_DESCRIPTIONS[68] = "White has a well protected first rank";
+        NAG_DESCRIPTIONS[69] = "Black has a well protected first rank";
+        NAG_DESCRIPTIONS[70] = "White has a poorly protected king";
+        NAG_DESCRIPTIONS[71] = "Black has a poorly protected king";
+        NAG_DESCRIPTIONS[72] = "White has a well protected king";
+        NAG_DESCRIPTIONS[73] = "Black has a well protected king";
+        NAG_DESCRIPTIONS[74] = "White has a poorly placed king";
+        NAG_DESCRIPTIONS[75] = "Black has a poorly placed king";
+        NAG_DESCRIPTIONS[76] = "White has a well placed king";
+        NAG_DESCRIPTIONS[77] = "Black has a well placed king";
+        NAG_DESCRIPTIONS[78] = "White has a very weak pawn structure";
+        NAG_DESCRIPTIONS[79] = "Black has a very weak pawn structure";
+        NAG_DESCRIPTIONS[80] = "White has a moderately weak pawn structure";
+        NAG_DESCRIPTIONS[81] = "Black has a moderately weak pawn structure";
+        NAG_DESCRIPTIONS[82] = "White has a moderately strong pawn structure";
+        NAG_DESCRIPTIONS[83] = "Black has a moderately strong pawn structure";
+        NAG_DESCRIPTIONS[84] = "White has a very strong pawn structure";
+        NAG_DESCRIPTIONS[85] = "Black has a very strong pawn structure";
+        NAG_DESCRIPTIONS[86] = "White has poor knight placement";
+        NAG_DESCRIPTIONS[87] = "Black has poor knight placement";
+        NAG_DESCRIPTIONS[88] = "White has good knight placement";
+        NAG_DESCRIPTIONS[89] = "Black has good knight placement";
+        NAG_DESCRIPTIONS[90] = "White has poor bishop placement";
+        NAG_DESCRIPTIONS[91] = "Black has poor bishop placement";
+        NAG_DESCRIPTIONS[92] = "White has good bishop placement";
+        NAG_DESCRIPTIONS[93] = "Black has good bishop placement";
+        NAG_DESCRIPTIONS[94] = "White has poor rook placement";
+        NAG_DESCRIPTIONS[95] = "Black has poor rook placement";
+        NAG_DESCRIPTIONS[96] = "White has good rook placement";
+        NAG_DESCRIPTIONS[97] = "Black has good rook placement";
+        NAG_DESCRIPTIONS[98] = "White has poor queen placement";
+        NAG_DESCRIPTIONS[99] = "Black has poor queen placement";
+        NAG_DESCRIPTIONS[100] = "White has good queen placement";
+        NAG_DESCRIPTIONS[101] = "Black has good queen placement";
+        NAG_DESCRIPTIONS[102] = "White has poor piece coordination";
+        NAG_DESCRIPTIONS[103] = "Black has poor piece coordination";
+        NAG_DESCRIPTIONS[104] = "White has good piece coordination";
+        NAG_DESCRIPTIONS[105] = "Black has good piece coordination";
+        NAG_DESCRIPTIONS[106] = "White has played the opening very poorly";
+        NAG_DESCRIPTIONS[107] = "Black has played the opening very poorly";
+        NAG_DESCRIPTIONS[108] = "White has played the opening poorly";
+        NAG_DESCRIPTIONS[109] = "Black has played the opening poorly";
+        NAG_DESCRIPTIONS[110] = "White has played the opening well";
+        NAG_DESCRIPTIONS[111] = "Black has played the opening well";
+        NAG_DESCRIPTIONS[112] = "White has played the opening very well";
+        NAG_DESCRIPTIONS[113] = "Black has played the opening very well";
+        NAG_DESCRIPTIONS[114] = "White has played the middlegame very poorly";
+        NAG_DESCRIPTIONS[115] = "Black has played the middlegame very poorly";
+        NAG_DESCRIPTIONS[116] = "White has played the middlegame poorly";
+        NAG_DESCRIPTIONS[117] = "Black has played the middlegame poorly";
+        NAG_DESCRIPTIONS[118] = "White has played the middlegame well";
+        NAG_DESCRIPTIONS[119] = "Black has played the middlegame well";
+        NAG_DESCRIPTIONS[120] = "White has played the middlegame very well";
+        NAG_DESCRIPTIONS[121] = "Black has played the middlegame very well";
+        NAG_DESCRIPTIONS[122] = "White has played the ending very poorly";
+        NAG_DESCRIPTIONS[123] = "Black has played the ending very poorly";
+        NAG_DESCRIPTIONS[124] = "White has played the ending poorly";
+        NAG_DESCRIPTIONS[125] = "Black has played the ending poorly";
+        NAG_DESCRIPTIONS[126] = "White has played the ending well";
+        NAG_DESCRIPTIONS[127] = "Black has played the ending well";
+        NAG_DESCRIPTIONS[128] = "White has played the ending very well";
+        NAG_DESCRIPTIONS[129] = "Black has played the ending very well";
+        NAG_DESCRIPTIONS[130] = "White has slight counterplay";
+        NAG_DESCRIPTIONS[131] = "Black has slight counterplay";
+        NAG_DESCRIPTIONS[132] = "White has moderate counterplay";
+        NAG_DESCRIPTIONS[133] = "Black has moderate counterplay";
+        NAG_DESCRIPTIONS[134] = "White has decisive counterplay";
+        NAG_DESCRIPTIONS[135] = "Black has decisive counterplay";
+        NAG_DESCRIPTIONS[136] = "White has moderate time control pressure";
+        NAG_DESCRIPTIONS[137] = "Black has moderate time control pressure";
+        NAG_DESCRIPTIONS[138] = "White has severe time control pressure / zeitnot";
+        NAG_DESCRIPTIONS[139] = "Black has severe time control pressure / zeitnot";
+    }
+
+    /**
+     * @param code The numeric annotation glyph, e.g. 14 for "$14"
+     * @return Its description, or null if the code is not defined
+     */
+    public static String describeNag(int code) {
+        return (code >= 0 && code < NAG_DESCRIPTIONS.length) ? NAG_DESCRIPTIONS[code] : null;
+    }
 
     public Move(String action, String comment, String annotation, Color color){
         this.action = action;
@@ -192,13 +201,7 @@ public class Move {
                 annotationKey = annotationKey*10 + Character.getNumericValue(annotation.charAt(i));
                 i++;
             }
-            if(annotations.containsKey(annotationKey)){
-                System.out.println(action+ " "+ annotations.get(annotationKey));
-            }
-            else {
-                System.out.println("Invalid annotation, value not defined");
-            }
-
+            nag = annotationKey;
         }
 
 
@@ -235,7 +238,7 @@ public class Move {
                 file = originFile;  // Store the origin file
 
                 int y = Character.getNumericValue(action.charAt(action.indexOf('x')+2));
-                newPosition = new Position(targetFile, y);
+                newPosition = Position.of(targetFile, y);
 
                 // For pawn captures, file disambiguation is a special case
                 // It's always needed as part of the notation, but it's not due to multiple pieces
@@ -250,7 +253,7 @@ public class Move {
                 // Handle the position
                 char x = action.charAt(0);
                 int y = Character.getNumericValue(action.charAt(1));
-                newPosition = new Position(x, y);
+                newPosition = Position.of(x, y);
 
                 // For simple pawn moves, no file disambiguation is needed
                 isCharAmb = false;
@@ -259,7 +262,7 @@ public class Move {
             else if(Character.isDigit(action.charAt(1))){
                 char x = action.charAt(0);
                 int y = Character.getNumericValue(action.charAt(1));
-                newPosition = new Position(x, y);
+                newPosition = Position.of(x, y);
 
                 // For regular pawn moves, there's no file ambiguity
                 // The file character is part of the destination, not disambiguation
@@ -329,7 +332,7 @@ public class Move {
 
                 char x = action.charAt(yPosition);
                 int y = Character.getNumericValue(action.charAt(xPosition));
-                this.newPosition = new Position(x, y);
+                this.newPosition = Position.of(x, y);
             }
         }
 
@@ -368,7 +371,7 @@ public class Move {
             }
             char x = action.charAt(yPosition);
             int y = Character.getNumericValue(action.charAt(xPosition));
-            newPosition = new Position(x,y);
+            newPosition = Position.of(x,y);
         }
         else {
             int yPosition;
@@ -403,7 +406,7 @@ public class Move {
             }
             char x = action.charAt(yPosition);
             int y = Character.getNumericValue(action.charAt(xPosition));
-            this.newPosition = new Position(x,y);
+            this.newPosition = Position.of(x,y);
         }
     }
 
@@ -465,6 +468,13 @@ public class Move {
         return annotation;
     }
 
+    /**
+     * @return The numeric annotation glyph, e.g. 14 for "$14", or -1 if the move has none
+     */
+    public int getNag() {
+        return nag;
+    }
+
     @Override
     public String toString() {
         return "Move{" +
@@ -0,0 +1,72 @@
+package org.example.parsing;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The half-moves of a game in play order, backed by a single array.
+ * Index 0 is white's first move, so round n is made of plies 2n - 2 and 2n - 1.
+ * The list is read-only for callers; only the parser appends to it.
+ */
+public class MoveList extends AbstractList<Move> implements RandomAccess {
+    private Move[] plies;
+    private int size = 0;
+
+    public MoveList() {
+        this(80);
+    }
+
+    public MoveList(int capacity) {
+        plies = new Move[Math.max(capacity, 2)];
+    }
+
+    void append(Move move) {
+        if (size == plies.length) {
+            plies = Arrays.copyOf(plies, size * 2);
+        }
+        plies[size++] = move;
+    }
+
+    /**
+     * @param ply Half-move index, 0 for white's first move
+     * @return The move played at that ply
+     */
+    @Override
+    public Move get(int ply) {
+        if (ply < 0 || ply >= size) {
+            throw new IndexOutOfBoundsException("Ply " + ply + " of " + size);
+        }
+        return plies[ply];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of started rounds, counting a final white move without reply
+     */
+    public int getRoundCount() {
+        return (size + 1) / 2;
+    }
+
+    /**
+     * @param round Move number, starting at 1
+     * @return White's move of that round, or null if the game is shorter
+     */
+    public Move getWhiteMove(int round) {
+        int ply = 2 * round - 2;
+        return (ply >= 0 && ply < size) ? plies[ply] : null;
+    }
+
+    /**
+     * @param round Move number, starting at 1
+     * @return Black's move of that round, or null if black did not reply
+     */
+    public Move getBlackMove(int round) {
+        int ply = 2 * round - 1;
+        return (ply > 0 && ply < size) ? plies[ply] : null;
+    }
+}
@@ -0,0 +1,266 @@
+package org.example.parsing;
+
+/**
+ * Splits PGN movetext into tokens in a single left-to-right pass, without regular expressions
+ * and without copying the text. Each call to next() classifies the token at the current position;
+ * its bounds and value are then available through the accessors until the following call.
+ *
+ * The SAN grammar accepted here is the same one GameParser uses in its move regular expressions,
+ * so both parsing modes agree on which games are valid.
+ */
+public class MovetextTokenizer {
+    public enum TokenType {
+        // move number followed by one or more dots, e.g. "12." or "12..."
+        MOVE_NUMBER,
+        // move in standard algebraic notation, e.g. "Nbd7", "exd8=Q+", "O-O"
+        SAN,
+        // numeric annotation glyph, e.g. "$14"
+        NAG,
+        // brace comment including the braces
+        COMMENT,
+        // game termination marker: 1-0, 0-1, 1/2-1/2 or *
+        RESULT,
+        // anything that is not valid movetext
+        UNKNOWN,
+        END
+    }
+
+    private final CharSequence text;
+    private final int length;
+    private int position = 0;
+
+    private TokenType type;
+    private int start;
+    private int end;
+    private int number;
+    private int dots;
+
+    public MovetextTokenizer(CharSequence text) {
+        this.text = text;
+        this.length = text.length();
+    }
+
+    /**
+     * Reads the next token, skipping any whitespace in front of it.
+     *
+     * @return The type of the token that was read
+     */
+    public TokenType next() {
+        while (position < length && isSpace(text.charAt(position))) {
+            position++;
+        }
+        start = position;
+        if (position >= length) {
+            end = position;
+            type = TokenType.END;
+            return type;
+        }
+
+        type = scan(text.charAt(position));
+        if (type == TokenType.UNKNOWN) {
+            // skip the whole word so the caller can report it
+            end = start + 1;
+            while (end < length && !isSpace(text.charAt(end))) {
+                end++;
+            }
+        }
+        position = end;
+        return type;
+    }
+
+    /** @return The type of the current token */
+    public TokenType getType() {
+        return type;
+    }
+
+    /** @return Index of the first character of the current token */
+    public int getStart() {
+        return start;
+    }
+
+    /** @return Index just past the last character of the current token */
+    public int getEnd() {
+        return end;
+    }
+
+    /** @return The current token as a String */
+    public String getText() {
+        return text.subSequence(start, end).toString();
+    }
+
+    /** @return The value of the current MOVE_NUMBER token */
+    public int getNumber() {
+        return number;
+    }
+
+    /** @return How many dots follow the current MOVE_NUMBER token (1 for white, 3 for black) */
+    public int getDots() {
+        return dots;
+    }
+
+    private TokenType scan(char c) {
+        if (c >= '0' && c <= '9') {
+            return scanNumberOrResult();
+        }
+        switch (c) {
+            case '*' -> {
+                end = start + 1;
+                return TokenType.RESULT;
+            }
+            case '$' -> {
+                int i = start + 1;
+                while (i < length && i - start <= 3 && isDigit(text.charAt(i))) {
+                    i++;
+                }
+                end = i;
+                return (i > start + 1) ? TokenType.NAG : TokenType.UNKNOWN;
+            }
+            case '{' -> {
+                int i = start + 1;
+                while (i < length && text.charAt(i) != '}') {
+                    i++;
+                }
+                if (i == length) {
+                    return TokenType.UNKNOWN;
+                }
+                end = i + 1;
+                return TokenType.COMMENT;
+            }
+            default -> {
+                end = matchSan(start);
+                return (end > start) ? TokenType.SAN : TokenType.UNKNOWN;
+            }
+        }
+    }
+
+    private TokenType scanNumberOrResult() {
+        if (startsWith(start, "1/2-1/2") || startsWith(start, "1-0") || startsWith(start, "0-1")) {
+            end = start + (text.charAt(start + 1) == '/' ? 7 : 3);
+            return TokenType.RESULT;
+        }
+
+        int i = start;
+        number = 0;
+        while (i < length && isDigit(text.charAt(i))) {
+            number = number * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        dots = 0;
+        while (i < length && text.charAt(i) == '.') {
+            dots++;
+            i++;
+        }
+        end = i;
+        return (dots > 0) ? TokenType.MOVE_NUMBER : TokenType.UNKNOWN;
+    }
+
+    /**
+     * Matches one SAN move starting at the given index.
+     *
+     * @return Index just past the move, or the start index if there is no move there
+     */
+    private int matchSan(int from) {
+        char c = text.charAt(from);
+
+        // pawn move or capture with optional promotion: e4, exd5, e8=Q, gxh1=N#
+        if (isFile(c)) {
+            int i;
+            if (charAt(from + 1) == 'x' && isFile(charAt(from + 2)) && isRank(charAt(from + 3))) {
+                i = from + 4;
+            } else if (isRank(charAt(from + 1))) {
+                i = from + 2;
+            } else {
+                return from;
+            }
+            if (charAt(i) == '=' && isWordChar(charAt(i + 1))) {
+                i += 2;
+            }
+            return checkSuffix(i);
+        }
+
+        // king move, no disambiguation: Kf1, Kxe2
+        if (c == 'K') {
+            int i = from + 1;
+            if (charAt(i) == 'x') {
+                i++;
+            }
+            return isSquare(i) ? checkSuffix(i + 2) : from;
+        }
+
+        // other pieces with optional file, rank or square disambiguation: Nf3, Nbd7, R1e2, Qh4xe1
+        if (c == 'Q' || c == 'R' || c == 'B' || c == 'N') {
+            int i = from + 1;
+            // same order the regular expression tries: file, rank, square, nothing
+            int target;
+            if (isFile(charAt(i)) && (target = matchTarget(i + 1)) > 0) return target;
+            if (isRank(charAt(i)) && (target = matchTarget(i + 1)) > 0) return target;
+            if (isSquare(i) && (target = matchTarget(i + 2)) > 0) return target;
+            if ((target = matchTarget(i)) > 0) return target;
+            return from;
+        }
+
+        // castling, long form first so "O-O-O" is not read as "O-O"
+        if (startsWith(from, "O-O-O")) {
+            return from + 5;
+        }
+        if (startsWith(from, "O-O")) {
+            return from + 3;
+        }
+        return from;
+    }
+
+    // optional capture, target square and check suffix of a piece move; -1 if there is no target
+    private int matchTarget(int i) {
+        if (charAt(i) == 'x' && isSquare(i + 1)) {
+            return checkSuffix(i + 3);
+        }
+        return isSquare(i) ? checkSuffix(i + 2) : -1;
+    }
+
+    private int checkSuffix(int i) {
+        char c = charAt(i);
+        return (c == '+' || c == '#') ? i + 1 : i;
+    }
+
+    private boolean isSquare(int i) {
+        return isFile(charAt(i)) && isRank(charAt(i + 1));
+    }
+
+    private boolean startsWith(int from, String prefix) {
+        if (from + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // character at the index, or a NUL sentinel past the end of the text
+    private char charAt(int i) {
+        return (i < length) ? text.charAt(i) : '\0';
+    }
+
+    private static boolean isFile(char c) {
+        return c >= 'a' && c <= 'h';
+    }
+
+    private static boolean isRank(char c) {
+        return c >= '1' && c <= '8';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    // same characters as \s in java.util.regex
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
@@ -4,33 +4,77 @@ import java.util.*;
 
 public class Record {
     private Map<String, String> tags;
-    private Map<Integer, Move[]> moves;
+    private MoveList moves;
 
     private String result;
+    // byte offset just past the game in its file, -1 if unknown
+    private long endOffset = -1;
 
-    public Record(Map<String, String> tags, Map<Integer,Move[]> moves, String result){
+    public Record(Map<String, String> tags, MoveList moves, String result){
         this.tags = tags;
         this.moves = moves;
         this.result = result;
     }
-    public List<Move> getMoves(){
-        List<Move> moves = new ArrayList<>();
-        this.moves.forEach((key,value)->{
-            moves.add(value[0]);
-            moves.add(value[1]);
+
+    /**
+     * @param moves White's and black's move per round number, in play order
+     * @deprecated Build the moves as a MoveList; this copies them into one
+     */
+    @Deprecated
+    public Record(Map<String, String> tags, Map<Integer, Move[]> moves, String result){
+        this(tags, new MoveList(moves.size() * 2), result);
+        moves.forEach((round, pair) -> {
+            for (Move move : pair) {
+                if (move != null) {
+                    this.moves.append(move);
+                }
+            }
         });
+    }
+
+    /**
+     * @return All half-moves in play order; a read-only view, not a copy
+     */
+    public List<Move> getMoves(){
+        return moves;
+    }
 
+    /**
+     * @return The moves with per-round access
+     */
+    public MoveList getMoveList(){
         return moves;
     }
 
+    /**
+     * @return A copy of the moves as white's and black's move per round number
+     * @deprecated Use getMoveList, which gives the same per-round access without copying
+     */
+    @Deprecated
+    public Map<Integer, Move[]> getRecord(){
+        Map<Integer, Move[]> rounds = new LinkedHashMap<>();
+        for (int round = 1; round <= moves.getRoundCount(); round++) {
+            rounds.put(round, new Move[]{moves.getWhiteMove(round), moves.getBlackMove(round)});
+        }
+        return rounds;
+    }
+
     public String getResult() {
         return result;
     }
 
-    public Map<Integer,Move[]> getRecord(){
-        return this.moves;
-    }
     public Map<String,String> getTags(){
         return tags;
     }
+
+    /**
+     * @return The byte offset just past this game in the PGN file, or -1 if the parser did not track it
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
 }
@@ -0,0 +1,41 @@
+package org.example.report;
+
+import org.example.simulation.Display;
+import org.example.simulation.Piece;
+
+import java.io.PrintStream;
+
+/**
+ * Prints every message and board, one line per message, as the validator always has.
+ */
+public class ConsoleReporter implements Reporter {
+    private final PrintStream out;
+
+    public ConsoleReporter() {
+        this(System.out);
+    }
+
+    public ConsoleReporter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void info(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void warning(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void error(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void board(Piece[][] board) {
+        new Display(out).printBoard(board);
+    }
+}
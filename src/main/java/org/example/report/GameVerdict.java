@@ -0,0 +1,72 @@
+package org.example.report;
+
+import org.example.simulation.ResultVerification;
+import org.example.simulation.ValidationError;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The outcome of validating one game, as written to the report by VerdictWriter.
+ */
+public class GameVerdict {
+    private final long game;
+    private final Map<String, String> tags;
+    private final String result;
+    private final int plies;
+    private final int failedPly;
+    private final ValidationError error;
+    private final ResultVerification verification;
+
+    /**
+     * @param game Number of the game in the validated stream, counting from 1
+     * @param tags PGN tags of the game, null if it could not be parsed
+     * @param result Result parsed from the PGN: "white", "black", "draw" or "undefined", null if unknown
+     * @param plies Number of half-moves validated
+     * @param failedPly Number of the half-move that failed validation, 0 if none
+     * @param error Why the game failed, null if it is valid
+     * @param verification How the final position compares to the result, null if the game failed
+     */
+    public GameVerdict(long game, Map<String, String> tags, String result, int plies, int failedPly,
+                       ValidationError error, ResultVerification verification) {
+        this.game = game;
+        this.tags = (tags == null) ? Collections.emptyMap() : tags;
+        this.result = result;
+        this.plies = plies;
+        this.failedPly = failedPly;
+        this.error = error;
+        this.verification = verification;
+    }
+
+    public long getGame() {
+        return game;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    public int getFailedPly() {
+        return failedPly;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+
+    public ResultVerification getVerification() {
+        return verification;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.report;
+
+import org.example.simulation.Display;
+import org.example.simulation.Piece;
+import org.example.simulation.ValidationError;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes one JSON object per message, {"level": ..., "message": ...}, and boards as
+ * {"level": "board", "placement": ...} with the piece placement field of a FEN.
+ * Validation errors also carry their code: {"level": "error", "code": ..., "message": ...}.
+ * Output is buffered; close the reporter to flush it. A write error stops the output and is
+ * thrown by close.
+ */
+public class JsonLinesReporter implements Reporter, Closeable {
+    private final BufferedWriter out;
+    private final Display display = new Display();
+    private IOException failure;
+
+    public JsonLinesReporter(Writer out) {
+        this.out = (out instanceof BufferedWriter buffered) ? buffered : new BufferedWriter(out);
+    }
+
+    @Override
+    public void info(String message) {
+        write("info", message(message));
+    }
+
+    @Override
+    public void warning(String message) {
+        write("warning", message(message));
+    }
+
+    @Override
+    public void error(String message) {
+        write("error", message(message));
+    }
+
+    @Override
+    public void error(ValidationError error, String move) {
+        write("error", "\"code\":\"" + error.name() + "\"," + message(error.message(move)));
+    }
+
+    @Override
+    public void board(Piece[][] board) {
+        write("board", "\"placement\":" + Json.quote(display.toPlacement(board)));
+    }
+
+    private static String message(String message) {
+        return "\"message\":" + Json.quote(message);
+    }
+
+    // fields are the formatted members that follow the level
+    private synchronized void write(String level, String fields) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            out.write("{\"level\":\"" + level + "\"," + fields + "}");
+            out.newLine();
+        } catch (IOException e) {
+            // the first error stops the log and is thrown by close
+            failure = e;
+        }
+    }
+
+    /**
+     * Flushes and closes the output.
+     *
+     * @throws IOException The first error that occurred while writing
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
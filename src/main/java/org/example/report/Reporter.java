@@ -0,0 +1,44 @@
+package org.example.report;
+
+import org.example.simulation.Piece;
+import org.example.simulation.ValidationError;
+
+/**
+ * Receives the diagnostics that parsing and simulation produce for each game.
+ * Messages are passed as they would be printed; implementations decide whether to print,
+ * count, serialize or drop them, so a run pays only for the output it keeps.
+ *
+ * Implementations must be thread-safe, BatchValidator workers report concurrently.
+ * Library constructors that take no Reporter use a SilentReporter; Main prints to the console.
+ */
+public interface Reporter {
+    /**
+     * Progress of a game that is going well: parsed games, promotions, final results.
+     */
+    void info(String message);
+
+    /**
+     * Something suspicious that does not fail the game, e.g. a result that contradicts the board.
+     */
+    void warning(String message);
+
+    /**
+     * The reason a game failed to parse or validate.
+     */
+    void error(String message);
+
+    /**
+     * The reason a game failed to validate. The message is only built here, so reporters that
+     * do not print it can count the error without any string work.
+     *
+     * @param move The SAN of the failing move, null if the whole game failed
+     */
+    default void error(ValidationError error, String move) {
+        error(error.message(move));
+    }
+
+    /**
+     * The board at the end of a game. The array must not be kept after the call returns.
+     */
+    void board(Piece[][] board);
+}
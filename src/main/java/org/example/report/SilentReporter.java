@@ -0,0 +1,29 @@
+package org.example.report;
+
+import org.example.simulation.Piece;
+import org.example.simulation.ValidationError;
+
+/**
+ * Drops everything, for runs that only need the final totals.
+ */
+public class SilentReporter implements Reporter {
+    @Override
+    public void info(String message) {
+    }
+
+    @Override
+    public void warning(String message) {
+    }
+
+    @Override
+    public void error(String message) {
+    }
+
+    @Override
+    public void error(ValidationError error, String move) {
+    }
+
+    @Override
+    public void board(Piece[][] board) {
+    }
+}
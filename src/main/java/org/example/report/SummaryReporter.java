@@ -0,0 +1,95 @@
+package org.example.report;
+
+import org.example.simulation.Piece;
+import org.example.simulation.ValidationError;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts messages instead of printing them and keeps how often each distinct warning and
+ * error occurred, so a large run ends with a short report of its most common problems.
+ * Validation errors are counted by kind, without the move that failed.
+ */
+public class SummaryReporter implements Reporter {
+    private static final int DEFAULT_TOP = 10;
+
+    private final LongAdder infos = new LongAdder();
+    private final LongAdder warnings = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void info(String message) {
+        infos.increment();
+    }
+
+    @Override
+    public void warning(String message) {
+        warnings.increment();
+        count(message);
+    }
+
+    @Override
+    public void error(String message) {
+        errors.increment();
+        count(message);
+    }
+
+    @Override
+    public void error(ValidationError error, String move) {
+        errors.increment();
+        count(error.message(null));
+    }
+
+    @Override
+    public void board(Piece[][] board) {
+    }
+
+    private void count(String message) {
+        counts.computeIfAbsent(message, key -> new LongAdder()).increment();
+    }
+
+    public long getInfos() {
+        return infos.sum();
+    }
+
+    public long getWarnings() {
+        return warnings.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return How often the given warning or error message was reported
+     */
+    public long getCount(String message) {
+        LongAdder count = counts.get(message);
+        return (count == null) ? 0 : count.sum();
+    }
+
+    /**
+     * @param top Maximum number of distinct messages to list
+     * @return The totals followed by the most frequent warnings and errors, one per line
+     */
+    public String toString(int top) {
+        StringBuilder summary = new StringBuilder("Messages: " + getInfos() +
+                ", warnings: " + getWarnings() +
+                ", errors: " + getErrors());
+        counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(top)
+                .forEach(e -> summary.append('\n').append(String.format("%8d  %s", e.getValue().sum(), e.getKey())));
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(DEFAULT_TOP);
+    }
+}
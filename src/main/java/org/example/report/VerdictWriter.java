@@ -0,0 +1,194 @@
+package org.example.report;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes one GameVerdict per line, as JSON Lines or CSV, so results can be loaded without
+ * scraping the console output.
+ *
+ * Tag names are written without the trailing space the parser keeps in them.
+ * Verdicts are formatted and written by a background thread: validation workers only put them
+ * in a bounded queue and wait only when the writer falls that far behind. Close the writer
+ * to flush the remaining verdicts; a write error stops the output and is thrown by close,
+ * while the queue keeps being drained so that no worker blocks on it.
+ */
+public class VerdictWriter implements Closeable {
+    public enum Format {
+        /** One JSON object per game with all of its tags. */
+        JSON_LINES,
+        /** A header and one row per game with the Seven Tag Roster. */
+        CSV
+    }
+
+    // the Seven Tag Roster, the tags every PGN game has
+    private static final List<String> CSV_TAGS = List.of("Event", "Site", "Date", "Round", "White", "Black", "Result");
+
+    private static final int QUEUE_CAPACITY = 1024;
+    // marks the end of the queue, compared by identity
+    private static final GameVerdict END = new GameVerdict(0, null, null, 0, 0, null, null);
+
+    private final BufferedWriter out;
+    private final Format format;
+    private final BlockingQueue<GameVerdict> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile IOException failure;
+    private volatile boolean closed = false;
+
+    public VerdictWriter(Writer out, Format format) {
+        this.out = (out instanceof BufferedWriter buffered) ? buffered : new BufferedWriter(out);
+        this.format = format;
+        this.thread = new Thread(this::run, "verdict-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return CSV for a file name ending in .csv, JSON Lines otherwise
+     */
+    public static Format formatOf(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? Format.CSV : Format.JSON_LINES;
+    }
+
+    /**
+     * Queues a verdict for writing; safe to call from several threads.
+     *
+     * @throws IllegalStateException If the writer is already closed
+     */
+    public void write(GameVerdict verdict) {
+        if (closed) {
+            throw new IllegalStateException("Verdict writer is closed");
+        }
+        try {
+            queue.put(verdict);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        if (format == Format.CSV) {
+            try {
+                writeCsvHeader();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        try {
+            GameVerdict verdict;
+            while ((verdict = queue.take()) != END) {
+                if (failure != null) {
+                    continue; // keep draining so that workers do not block
+                }
+                try {
+                    out.write((format == Format.CSV) ? toCsv(verdict) : toJson(verdict));
+                    out.newLine();
+                } catch (IOException e) {
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new IOException("Cannot write verdict of game " + verdict.getGame(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the verdicts still queued and closes the output.
+     *
+     * @throws IOException The first error that occurred while writing
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeCsvHeader() throws IOException {
+        StringBuilder header = new StringBuilder("Game");
+        for (String tag : CSV_TAGS) {
+            header.append(',').append(tag);
+        }
+        out.write(header.append(",Valid,Plies,FailedPly,Error,Verification").toString());
+        out.newLine();
+    }
+
+    private static String toJson(GameVerdict verdict) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"game\":").append(verdict.getGame()).append(",\"tags\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> tag : verdict.getTags().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append(Json.quote(tag.getKey().trim())).append(':').append(Json.quote(tag.getValue()));
+        }
+        json.append("},\"result\":").append(Json.quote(verdict.getResult()))
+                .append(",\"valid\":").append(verdict.isValid())
+                .append(",\"plies\":").append(verdict.getPlies())
+                .append(",\"failedPly\":").append((verdict.getFailedPly() > 0) ? verdict.getFailedPly() : "null")
+                .append(",\"error\":").append(Json.quote(name(verdict.getError())))
+                .append(",\"verification\":").append(Json.quote(name(verdict.getVerification())))
+                .append('}');
+        return json.toString();
+    }
+
+    private static String toCsv(GameVerdict verdict) {
+        String[] values = new String[CSV_TAGS.size()];
+        for (Map.Entry<String, String> tag : verdict.getTags().entrySet()) {
+            int column = CSV_TAGS.indexOf(tag.getKey().trim());
+            if (column >= 0) {
+                values[column] = tag.getValue();
+            }
+        }
+        StringBuilder csv = new StringBuilder(128);
+        csv.append(verdict.getGame());
+        for (String value : values) {
+            csv.append(',').append(csvField(value));
+        }
+        csv.append(',').append(verdict.isValid())
+                .append(',').append(verdict.getPlies())
+                .append(',').append((verdict.getFailedPly() > 0) ? Integer.toString(verdict.getFailedPly()) : "")
+                .append(',').append(csvField(name(verdict.getError())))
+                .append(',').append(csvField(name(verdict.getVerification())));
+        return csv.toString();
+    }
+
+    private static String name(Enum<?> value) {
+        return (value == null) ? null : value.name();
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted, quotes are doubled
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
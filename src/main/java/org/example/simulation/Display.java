@@ -3,27 +3,69 @@ package org.example.simulation;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.*;
 
+import java.io.PrintStream;
+
 public class Display {
+    private final PrintStream out;
+
+    public Display() {
+        this(System.out);
+    }
+
+    public Display(PrintStream out) {
+        this.out = out;
+    }
+
     /**
      * Prints the current state of the chess board to the console.
      * This method creates a visual representation of the board with coordinates.
      */
     public void printBoard(Piece[][] board) {
-        System.out.println("\nCurrent board state:");
-        System.out.println("    a   b   c   d   e   f   g   h");
-        System.out.println(" +----+---+---+---+---+---+---+---+");
+        out.println("\nCurrent board state:");
+        out.println("    a   b   c   d   e   f   g   h");
+        out.println(" +----+---+---+---+---+---+---+---+");
 
         for (int i = 7; i >= 0; i--) {
-            System.out.print((i + 1) + " | ");
+            out.print((i + 1) + " | ");
             for (int j = 0; j < 8; j++) {
                 Piece piece = board[i][j];
                 char symbol = getPieceSymbol(piece);
-                System.out.print(symbol + " | ");
+                out.print(symbol + " | ");
+            }
+            out.println(" " + (i + 1));
+            out.println(" +----+---+---+---+---+---+---+---+");
+        }
+        out.println("    a   b   c   d   e   f   g   h\n");
+    }
+
+    /**
+     * Returns the piece placement field of a FEN, rank 8 first, e.g.
+     * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR" for the starting position.
+     */
+    public String toPlacement(Piece[][] board) {
+        StringBuilder placement = new StringBuilder(71);
+        for (int i = 7; i >= 0; i--) {
+            int empty = 0;
+            for (int j = 0; j < 8; j++) {
+                Piece piece = board[i][j];
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    placement.append(empty);
+                    empty = 0;
+                }
+                placement.append(getPieceSymbol(piece));
+            }
+            if (empty > 0) {
+                placement.append(empty);
+            }
+            if (i > 0) {
+                placement.append('/');
             }
-            System.out.println(" " + (i + 1));
-            System.out.println(" +----+---+---+---+---+---+---+---+");
         }
-        System.out.println("    a   b   c   d   e   f   g   h\n");
+        return placement.toString();
     }
 
     /**
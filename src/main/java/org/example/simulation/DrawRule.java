@@ -0,0 +1,34 @@
+package org.example.simulation;
+
+/**
+ * The rules under which a position is drawn regardless of the players' agreement.
+ * Automatic draws end the game immediately; the others only entitle a player to claim a draw.
+ */
+public enum DrawRule {
+    STALEMATE("stalemate", true),
+    INSUFFICIENT_MATERIAL("insufficient material", true),
+    FIVEFOLD_REPETITION("fivefold repetition", true),
+    SEVENTY_FIVE_MOVES("the seventy-five-move rule", true),
+    THREEFOLD_REPETITION("threefold repetition", false),
+    FIFTY_MOVES("the fifty-move rule", false);
+
+    private final String description;
+    private final boolean automatic;
+
+    DrawRule(String description, boolean automatic) {
+        this.description = description;
+        this.automatic = automatic;
+    }
+
+    /**
+     * @return true if the game ends as soon as the rule applies, false if a draw must be claimed
+     */
+    public boolean isAutomatic() {
+        return automatic;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
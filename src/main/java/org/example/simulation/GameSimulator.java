@@ -1,13 +1,22 @@
 package org.example.simulation;
 
-import org.example.Main;
+import org.example.metrics.Metrics;
+import org.example.metrics.Phase;
 import org.example.parsing.Record;
 import org.example.parsing.Move;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+import org.example.simulation.bitboard.AttackMap;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.Bitboards;
+import org.example.simulation.bitboard.CompactRecord;
+import org.example.simulation.bitboard.PackedMove;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.attributes.Position;
 import org.example.simulation.pieces.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.example.simulation.pieces.attributes.Color.black;
@@ -15,16 +24,86 @@ import static org.example.simulation.pieces.attributes.Color.white;
 
 public class GameSimulator {
     private Piece[][] board;
-    private King whiteKing = new King(new Position('e',1), white);
-    private King blackKing = new King(new Position('e',8), black);
+    private King whiteKing = new King(Position.of('e',1), white);
+    private King blackKing = new King(Position.of('e',8), black);
     private final Record record;
+    // shared checkmate results of earlier games, null to always compute them
+    private final PositionCache cache;
+    private final Reporter reporter;
+    // bitboard mirror of board, used for all attack queries
+    private BitboardPosition position;
+    private int completedMoves = 0;
+    // every validated move as a PackedMove, the first completedMoves entries are used
+    private int[] packedMoves = new int[128];
+    // Zobrist key of the position after each ply, index 0 is the starting position
+    private long[] positionKeys = new long[129];
+    // half-moves since the last capture or pawn move
+    private int halfmoveClock = 0;
+    // why runGame failed, null if it did not
+    private ValidationError error;
+    // set by runGame once every move is valid
+    private ResultVerification resultVerification;
 
     public Piece[][] getBoard() { return board; }
     public King getWhiteKing() { return whiteKing; }
     public King getBlackKing() { return blackKing; }
+    public int getCompletedMoves() { return completedMoves; }
+    public BitboardPosition getPosition() { return position; }
+    public int[] getPackedMoves() { return Arrays.copyOf(packedMoves, completedMoves); }
+    public long[] getPositionKeys() { return Arrays.copyOf(positionKeys, completedMoves + 1); }
+    public int getHalfmoveClock() { return halfmoveClock; }
+    public ValidationError getError() { return error; }
+    public ResultVerification getResultVerification() { return resultVerification; }
+
+    /**
+     * @return The number of the half-move that failed validation, counting from 1, or 0 if no move failed
+     */
+    public int getFailedPly() {
+        return (error != null && error.isMoveError()) ? completedMoves + 1 : 0;
+    }
+
+    /**
+     * @param ply Number of half-moves played, 0 for the starting position
+     * @return The Zobrist key of the position after that many validated half-moves
+     */
+    public long getPositionKey(int ply) {
+        if (ply < 0 || ply > completedMoves) {
+            throw new IndexOutOfBoundsException("Ply " + ply + " of " + completedMoves);
+        }
+        return positionKeys[ply];
+    }
+
+    /**
+     * @return The validated moves of the game in compact form, or null if there is no record
+     */
+    public CompactRecord toCompactRecord() {
+        if (record == null) {
+            return null;
+        }
+        return new CompactRecord(record.getTags(), getPackedMoves(), record.getResult());
+    }
 
     public GameSimulator(Record record) {
+        this(record, null);
+    }
+
+    /**
+     * @param record The game to simulate
+     * @param cache Checkmate results shared between simulators, or null
+     */
+    public GameSimulator(Record record, PositionCache cache) {
+        this(record, cache, new SilentReporter());
+    }
+
+    /**
+     * @param record The game to simulate
+     * @param cache Checkmate results shared between simulators, or null
+     * @param reporter Receives the validation errors, the result analysis and the final board
+     */
+    public GameSimulator(Record record, PositionCache cache, Reporter reporter) {
         this.record = record;
+        this.cache = cache;
+        this.reporter = reporter;
         initializeBoard();
     }
 
@@ -32,18 +111,18 @@ public class GameSimulator {
         board = new Piece[8][8];
 
         // Set up white pieces
-        board[0][0] = new Rook(new Position('a', 1), white);
-        board[0][1] = new Knight(new Position('b', 1), white);
-        board[0][2] = new Bishop(new Position('c', 1), white);
-        board[0][3] = new Queen(new Position('d', 1), white);
+        board[0][0] = new Rook(Position.of('a', 1), white);
+        board[0][1] = new Knight(Position.of('b', 1), white);
+        board[0][2] = new Bishop(Position.of('c', 1), white);
+        board[0][3] = new Queen(Position.of('d', 1), white);
         board[0][4] = whiteKing;
-        board[0][5] = new Bishop(new Position('f', 1), white);
-        board[0][6] = new Knight(new Position('g', 1), white);
-        board[0][7] = new Rook(new Position('h', 1), white);
+        board[0][5] = new Bishop(Position.of('f', 1), white);
+        board[0][6] = new Knight(Position.of('g', 1), white);
+        board[0][7] = new Rook(Position.of('h', 1), white);
 
         // Set up white pawns
         for (int i = 0; i < 8; i++) {
-            board[1][i] = new Pawn(new Position((char)('a' + i), 2), white);
+            board[1][i] = new Pawn(Position.of((char)('a' + i), 2), white);
         }
 
         // Empty middle of the board
@@ -55,133 +134,311 @@ public class GameSimulator {
 
         // Set up black pawns
         for (int i = 0; i < 8; i++) {
-            board[6][i] = new Pawn(new Position((char)('a' + i), 7), black);
+            board[6][i] = new Pawn(Position.of((char)('a' + i), 7), black);
         }
 
         // Set up black pieces
-        board[7][0] = new Rook(new Position('a', 8), black);
-        board[7][1] = new Knight(new Position('b', 8), black);
-        board[7][2] = new Bishop(new Position('c', 8), black);
-        board[7][3] = new Queen(new Position('d', 8), black);
+        board[7][0] = new Rook(Position.of('a', 8), black);
+        board[7][1] = new Knight(Position.of('b', 8), black);
+        board[7][2] = new Bishop(Position.of('c', 8), black);
+        board[7][3] = new Queen(Position.of('d', 8), black);
         board[7][4] = blackKing;
-        board[7][5] = new Bishop(new Position('f', 8), black);
-        board[7][6] = new Knight(new Position('g', 8), black);
-        board[7][7] = new Rook(new Position('h', 8), black);
+        board[7][5] = new Bishop(Position.of('f', 8), black);
+        board[7][6] = new Knight(Position.of('g', 8), black);
+        board[7][7] = new Rook(Position.of('h', 8), black);
+
+        position = BitboardPosition.from(board);
+        position.setCastlingRights(BitboardPosition.WHITE_KING_SIDE | BitboardPosition.WHITE_QUEEN_SIDE
+                | BitboardPosition.BLACK_KING_SIDE | BitboardPosition.BLACK_QUEEN_SIDE);
+        positionKeys[0] = position.getKey();
     }
 
-    public void runGame() {
+    private static int square(Position pos) {
+        return pos.getSquare();
+    }
+
+    private boolean isInCheck(Color color) {
+        long start = Metrics.start();
+        boolean check = position.isInCheck(BitboardPosition.colorOf(color));
+        Metrics.stop(Phase.CHECK, start);
+        return check;
+    }
+
+    /**
+     * Checkmate test through the position cache; the cached status belongs to the side to move,
+     * so other kings are always computed.
+     */
+    private boolean isCheckmate(King king) {
+        long start = Metrics.start();
+        boolean checkmate = isCheckmateCached(king);
+        Metrics.stop(Phase.CHECKMATE, start);
+        return checkmate;
+    }
+
+    private boolean isCheckmateCached(King king) {
+        if (cache == null || BitboardPosition.colorOf(king.getColor()) != position.getSideToMove()) {
+            return ChessUtils.isCheckmate(board, king, position);
+        }
+
+        long key = position.getKey();
+        int status = cache.get(key);
+        if ((status & PositionCache.MATE_KNOWN) != 0) {
+            return (status & PositionCache.CHECKMATE) != 0;
+        }
+        boolean checkmate = ChessUtils.isCheckmate(board, king, position);
+        cache.put(key, PositionCache.MATE_KNOWN | (checkmate ? PositionCache.CHECKMATE : 0));
+        return checkmate;
+    }
+
+    /**
+     * Replays the recorded moves on the board, validating each one.
+     *
+     * @return true if every move of the game was valid, false otherwise
+     */
+    public boolean runGame() {
         if (record == null) {
-            System.out.println("Cannot make simulation");
-            return;
+            return fail(ValidationError.NO_RECORD, null);
         }
 
         List<Move> moves = record.getMoves();
         if (moves == null || moves.isEmpty()) {
-            System.out.println("No moves to simulate");
-            return;
+            return fail(ValidationError.NO_MOVES, null);
         }
 
-        int count = 1;
         for (Move move : moves) {
             if (move == null) break;
 
             // Process each move
-            if (!processMove(move)) {
-                return; // Error encountered
+            ValidationError moveError = processMove(move);
+            if (moveError != null) {
+                return fail(moveError, move); // Error encountered
             }
 
-            count++;
-            Main.countMoves++;
         }
 
         // Game completed successfully
-        analyzeGameResult(count-1, moves.size());
+        analyzeGameResult(completedMoves, moves.size());
+        return true;
     }
 
-    private boolean processMove(Move move) {
-        // Handle castling
-        if (move.isKingSideCastling()) {
-            return handleKingSideCastling(move.getColor());
+    // the message is only built here, once per failed game, and only by reporters that keep it
+    private boolean fail(ValidationError error, Move move) {
+        this.error = error;
+        reporter.error(error, (move == null) ? null : move.getAction());
+        return false;
+    }
+
+    /**
+     * Appends a validated move and the key of the position it led to.
+     */
+    private void completeMove(int packedMove) {
+        if (completedMoves == packedMoves.length) {
+            packedMoves = Arrays.copyOf(packedMoves, completedMoves * 2);
+            positionKeys = Arrays.copyOf(positionKeys, completedMoves * 2 + 1);
+        }
+        packedMoves[completedMoves++] = packedMove;
+        positionKeys[completedMoves] = position.getKey();
+
+        boolean irreversible = PackedMove.piece(packedMove) == BitboardPosition.PAWN || PackedMove.isCapture(packedMove);
+        halfmoveClock = irreversible ? 0 : halfmoveClock + 1;
+    }
+
+    /**
+     * Counts how often the current position occurred, including now. Only positions since the
+     * last capture or pawn move with the same side to move can repeat it.
+     */
+    private int countRepetitions() {
+        long key = positionKeys[completedMoves];
+        int count = 1;
+        for (int ply = completedMoves - 2; ply >= completedMoves - halfmoveClock; ply -= 2) {
+            if (positionKeys[ply] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks the current position against the draw rules, automatic rules first.
+     *
+     * @return The rule under which the position is drawn, or null if none applies
+     */
+    public DrawRule getDrawRule() {
+        if (new AttackMap(position, position.getSideToMove()).isStalemate()) {
+            return DrawRule.STALEMATE;
+        }
+        if (position.hasInsufficientMaterial()) {
+            return DrawRule.INSUFFICIENT_MATERIAL;
+        }
+        int repetitions = countRepetitions();
+        if (repetitions >= 5) {
+            return DrawRule.FIVEFOLD_REPETITION;
+        }
+        if (halfmoveClock >= 150) {
+            return DrawRule.SEVENTY_FIVE_MOVES;
+        }
+        if (repetitions >= 3) {
+            return DrawRule.THREEFOLD_REPETITION;
+        }
+        if (halfmoveClock >= 100) {
+            return DrawRule.FIFTY_MOVES;
         }
+        return null;
+    }
 
-        if (move.isQueenSideCastling()) {
-            return handleQueenSideCastling(move.getColor());
+    /**
+     * Validates a move against the board and plays it.
+     *
+     * @return null if the move is valid, otherwise why it is not
+     */
+    private ValidationError processMove(Move move) {
+        // Handle castling
+        if (move.isKingSideCastling() || move.isQueenSideCastling()) {
+            int row = (move.getColor() == white) ? 0 : 7;
+            boolean kingSide = move.isKingSideCastling();
+            if (kingSide ? !handleKingSideCastling(move.getColor()) : !handleQueenSideCastling(move.getColor())) {
+                return kingSide ? ValidationError.ILLEGAL_KING_SIDE_CASTLING : ValidationError.ILLEGAL_QUEEN_SIDE_CASTLING;
+            }
+            int packedMove = PackedMove.of(Bitboards.square(row, 4), Bitboards.square(row, kingSide ? 6 : 2),
+                    BitboardPosition.KING, 0, PackedMove.CASTLE);
+            position.makeMove(packedMove);
+            completeMove(packedMove);
+            return null;
         }
 
         // Regular move
+        long start = Metrics.start();
         Piece currentPiece = identifyPiece(move);
+        Metrics.stop(Phase.IDENTIFY_PIECE, start);
         if (currentPiece == null) {
-            System.out.println("Error: Cannot identify piece for move " + move.getAction());
-            return false;
+            return ValidationError.UNKNOWN_PIECE;
         }
 
         // Validate move
         Position newPosition = move.getNewPosition();
-        if (!validateMove(move, currentPiece, newPosition)) {
-            return false;
+        ValidationError invalid = validateMove(move, currentPiece, newPosition);
+        if (invalid != null) {
+            return invalid;
         }
 
-        // Execute move
+        int packedMove = packMove(move, currentPiece, newPosition);
+        Piece promotedPiece = null;
         if (move.isPromotion()) {
-            executePromotion(move, currentPiece, newPosition);
+            promotedPiece = ChessUtils.createPiece(move.getPromoted(), currentPiece.getPosition(), currentPiece.getColor());
+            if (promotedPiece == null) {
+                return ValidationError.INVALID_PROMOTION;
+            }
+        }
+
+        // Probe the move on the bitboard mirror; a rejected move is taken back, so the position
+        // still matches the board, which is only changed once the move has passed
+        position.makeMove(packedMove);
+        ValidationError rejected = probeMove(move);
+        if (rejected != null) {
+            position.unmakeMove();
+            return rejected;
+        }
+
+        // Execute move
+        if ((PackedMove.flags(packedMove) & PackedMove.EN_PASSANT) != 0) {
+            // the captured pawn stands beside the capturing one, not on the target square
+            board[currentPiece.getPosition().getX()][newPosition.getY()] = null;
+        }
+        if (promotedPiece != null) {
+            ChessUtils.movePiece(board, promotedPiece, newPosition);
+            reporter.info("Promoted pawn to " + promotedPiece.getClass().getSimpleName());
         } else {
             ChessUtils.movePiece(board, currentPiece, newPosition);
         }
 
+        completeMove(packedMove);
+        return null;
+    }
+
+    /**
+     * Checks the position a move has just been made in: the mover's king must be safe, and the
+     * check and checkmate marks of the move must match the opponent's king.
+     *
+     * @return null if the move is legal and marked correctly, otherwise why it is not
+     */
+    private ValidationError probeMove(Move move) {
+        if (isInCheck(move.getColor())) {
+            return ValidationError.KING_LEFT_IN_CHECK;
+        }
+
         // Verify check status
         King opponentKing = (move.getColor() == white) ? blackKing : whiteKing;
-        boolean actualCheckStatus = ChessUtils.isInCheck(board, opponentKing);
+        boolean actualCheckStatus = isInCheck(opponentKing.getColor());
 
-        if (move.isCheck() != actualCheckStatus) {
-            System.out.println("Error: Check status mismatch for move " + move.getAction());
-            return false;
+        // a move marked with # gives check as well, the parser sets only its checkmate flag
+        if ((move.isCheck() || move.isCheckmate()) != actualCheckStatus) {
+            return ValidationError.CHECK_MISMATCH;
         }
 
         // Verify checkmate if claimed
-        if (move.isCheckmate() && !ChessUtils.isCheckmate(board, opponentKing)) {
-            System.out.println("Error: Checkmate status mismatch for move " + move.getAction());
-            return false;
+        if (move.isCheckmate() && !isCheckmate(opponentKing)) {
+            return ValidationError.CHECKMATE_MISMATCH;
         }
+        return null;
+    }
 
-        return true;
+    // encodes a validated, not yet executed move
+    private int packMove(Move move, Piece piece, Position newPosition) {
+        int from = square(piece.getPosition());
+        int to = square(newPosition);
+        int type = BitboardPosition.typeOf(piece);
+        int promotion = move.isPromotion() ? Math.max("PNBRQK".indexOf(move.getPromoted()), 0) : 0;
+
+        int flags = 0;
+        if (board[newPosition.getX()][newPosition.getY()] != null) {
+            flags |= PackedMove.CAPTURE;
+        } else if (isEnPassant(piece, newPosition)) {
+            flags |= PackedMove.CAPTURE | PackedMove.EN_PASSANT;
+        }
+        if (type == BitboardPosition.PAWN && Math.abs(to - from) == 16) {
+            flags |= PackedMove.DOUBLE_PUSH;
+        }
+        return PackedMove.of(from, to, type, promotion, flags);
     }
 
-    private boolean validateMove(Move move, Piece piece, Position newPosition) {
-        // Check for capture
-        if (move.isCapture() == (board[newPosition.getX()][newPosition.getY()] == null)) {
-            System.out.println("Error: Capture status mismatch for move " + move.getAction());
-            return false;
+    /**
+     * En passant state comes from the bitboard mirror, which sets the square a pawn skipped
+     * on its double push and clears it with the next move.
+     *
+     * @return true if the pawn moving diagonally to the empty target square captures en passant
+     */
+    private boolean isEnPassant(Piece piece, Position newPosition) {
+        return piece instanceof Pawn &&
+                square(newPosition) == position.getEnPassantSquare() &&
+                newPosition.getY() != piece.getPosition().getY();
+    }
+
+    /**
+     * @return null if the capture and disambiguation of the move match the board, otherwise the mismatch
+     */
+    private ValidationError validateMove(Move move, Piece piece, Position newPosition) {
+        // Check for capture, en passant captures land on an empty square
+        boolean captures = board[newPosition.getX()][newPosition.getY()] != null || isEnPassant(piece, newPosition);
+        if (move.isCapture() != captures) {
+            return ValidationError.CAPTURE_MISMATCH;
         }
 
         // Check for file/rank ambiguity (skip for pawns)
         if (!(piece instanceof Pawn)) {
             if (piece.needsFileDisambiguation(board, newPosition) != move.isCharAmb()) {
-                System.out.println("Error: Wrong file ambiguity");
-                return false;
+                return ValidationError.FILE_AMBIGUITY;
             }
 
             if (piece.needsRankDisambiguation(board, newPosition) != move.isDigitAmb()) {
-                System.out.println("Error: Wrong rank ambiguity");
-                return false;
+                return ValidationError.RANK_AMBIGUITY;
             }
         }
 
-        return true;
-    }
-
-    private void executePromotion(Move move, Piece pawn, Position newPosition) {
-        Piece promotedPiece = ChessUtils.createPiece(move.getPromoted(), pawn.getPosition(), pawn.getColor());
-        if (promotedPiece == null) {
-            System.out.println("Error: Invalid promotion piece");
-            return;
-        }
-
-        ChessUtils.movePiece(board, promotedPiece, newPosition);
-        System.out.println("Promoted pawn to " + promotedPiece.getClass().getSimpleName());
+        return null;
     }
 
     private void analyzeGameResult(int movesCompleted, int totalMoves) {
-        System.out.println("Successfully completed " + movesCompleted + " moves");
+        reporter.info("Successfully completed " + movesCompleted + " moves");
 
         // Determine the final game state
         Color lastMoveColor = (movesCompleted % 2 == 0) ? black : white;
@@ -189,24 +446,38 @@ public class GameSimulator {
         King kingToCheck = (nextToMove == white) ? whiteKing : blackKing;
 
         // Display final board state
-        System.out.println("Final board state:");
-        new Display().printBoard(board);
+        reporter.info("Final board state:");
+        reporter.board(board);
 
-        // Optional: Enable for detailed debugging
-        // ChessUtils.debugCheckmate(board, kingToCheck);
-
-        boolean isCheck = ChessUtils.isInCheck(board, kingToCheck);
-        boolean isCheckmate = ChessUtils.isCheckmate(board, kingToCheck);
+        boolean isCheck = isInCheck(nextToMove);
+        boolean isCheckmate = isCheckmate(kingToCheck);
         String pgnResult = record.getResult();
 
+        DrawRule drawRule = isCheckmate ? null : getDrawRule();
+        // a draw that could only be claimed does not contradict a decisive result
+        if (drawRule != null && !drawRule.isAutomatic() && !"draw".equals(pgnResult)) {
+            drawRule = null;
+        }
+
         // Report final result
+        resultVerification = ResultVerification.UNVERIFIED;
         if (isCheckmate) {
-            System.out.println("Game ended in checkmate. " + lastMoveColor + " wins!");
+            reporter.info("Game ended in checkmate. " + lastMoveColor + " wins!");
             verifyResult(lastMoveColor, pgnResult);
+        } else if (drawRule != null) {
+            reporter.info("Game ended in a draw by " + drawRule + ".");
+            if ("draw".equals(pgnResult)) {
+                resultVerification = ResultVerification.CONFIRMED;
+            } else if ("white".equals(pgnResult) || "black".equals(pgnResult)) {
+                // an unknown result (*) does not contradict the draw
+                reporter.warning("Warning: Position is drawn by " + drawRule + ", but PGN indicates " + pgnResult);
+                resultVerification = ResultVerification.CONTRADICTED;
+            }
         } else if (isCheck) {
-            System.out.println("King is in check but not checkmate.");
+            reporter.info("King is in check but not checkmate.");
             if ("white".equals(pgnResult) || "black".equals(pgnResult)) {
-                System.out.println("Warning: Game ended without checkmate but PGN indicates a winner.");
+                reporter.warning("Warning: Game ended without checkmate but PGN indicates a winner.");
+                resultVerification = ResultVerification.CONTRADICTED;
             }
         } else {
             reportNonCheckmateEnding(pgnResult);
@@ -218,23 +489,26 @@ public class GameSimulator {
                 (winner == white && "white".equals(pgnResult)) ||
                         (winner == black && "black".equals(pgnResult));
 
-        if (!resultsMatch) {
-            System.out.println("Warning: Checkmate detection shows " + winner +
+        if (resultsMatch) {
+            resultVerification = ResultVerification.CONFIRMED;
+        } else {
+            reporter.warning("Warning: Checkmate detection shows " + winner +
                     " won, but PGN indicates " + pgnResult);
+            resultVerification = ResultVerification.CONTRADICTED;
         }
     }
 
     private void reportNonCheckmateEnding(String pgnResult) {
         if ("draw".equals(pgnResult)) {
-            System.out.println("Game ended in a draw according to PGN.");
+            reporter.info("Game ended in a draw according to PGN.");
         } else if ("white".equals(pgnResult)) {
-            System.out.println("Game ended with white winning according to PGN (not by checkmate).");
-            System.out.println("This could indicate a resignation or a time forfeit.");
+            reporter.info("Game ended with white winning according to PGN (not by checkmate).");
+            reporter.info("This could indicate a resignation or a time forfeit.");
         } else if ("black".equals(pgnResult)) {
-            System.out.println("Game ended with black winning according to PGN (not by checkmate).");
-            System.out.println("This could indicate a resignation or a time forfeit.");
+            reporter.info("Game ended with black winning according to PGN (not by checkmate).");
+            reporter.info("This could indicate a resignation or a time forfeit.");
         } else {
-            System.out.println("Game ended without checkmate. PGN Result: " + pgnResult);
+            reporter.info("Game ended without checkmate. PGN Result: " + pgnResult);
         }
     }
 
@@ -243,20 +517,19 @@ public class GameSimulator {
         int row = (color == white) ? 0 : 7;
 
         if (!canCastleKingSide(king, row)) {
-            System.out.println("Error: Invalid king-side castling");
             return false;
         }
 
         // Move king
         board[row][4] = null;
         board[row][6] = king;
-        king.setPosition(new Position((char)('e' + 2), row + 1));
+        king.setPosition(Position.of((char)('e' + 2), row + 1));
 
         // Move rook
         Rook rook = (Rook) board[row][7];
         board[row][7] = null;
         board[row][5] = rook;
-        rook.setPosition(new Position((char)('h' - 2), row + 1));
+        rook.setPosition(Position.of((char)('h' - 2), row + 1));
 
         return true;
     }
@@ -266,20 +539,19 @@ public class GameSimulator {
         int row = (color == white) ? 0 : 7;
 
         if (!canCastleQueenSide(king, row)) {
-            System.out.println("Error: Invalid queen-side castling");
             return false;
         }
 
         // Move king
         board[row][4] = null;
         board[row][2] = king;
-        king.setPosition(new Position((char)('e' - 2), row + 1));
+        king.setPosition(Position.of((char)('e' - 2), row + 1));
 
         // Move rook
         Rook rook = (Rook) board[row][0];
         board[row][0] = null;
         board[row][3] = rook;
-        rook.setPosition(new Position((char)('a' + 3), row + 1));
+        rook.setPosition(Position.of((char)('a' + 3), row + 1));
 
         return true;
     }
@@ -295,17 +567,11 @@ public class GameSimulator {
             return false;
         }
 
-        // Check if king is not in check and would not pass through check
-        if (ChessUtils.isInCheck(board, king)) {
-            return false;
-        }
-
-        Position tempPos = new Position((char)('e' + 1), row + 1);
-        king.setPosition(tempPos);
-        boolean passesCheck = ChessUtils.isInCheck(board, king);
-        king.setPosition(new Position('e', row + 1));
-
-        return !passesCheck;
+        // King may not castle out of, through or into check
+        int enemy = BitboardPosition.colorOf(king.getColor()) ^ 1;
+        return !position.isSquareAttacked(Bitboards.square(row, 4), enemy) &&
+                !position.isSquareAttacked(Bitboards.square(row, 5), enemy) &&
+                !position.isSquareAttacked(Bitboards.square(row, 6), enemy);
     }
 
     private boolean canCastleQueenSide(King king, int row) {
@@ -319,17 +585,11 @@ public class GameSimulator {
             return false;
         }
 
-        // Check if king is not in check and would not pass through check
-        if (ChessUtils.isInCheck(board, king)) {
-            return false;
-        }
-
-        Position tempPos = new Position((char)('e' - 1), row + 1);
-        king.setPosition(tempPos);
-        boolean passesCheck = ChessUtils.isInCheck(board, king);
-        king.setPosition(new Position('e', row + 1));
-
-        return !passesCheck;
+        // King may not castle out of, through or into check
+        int enemy = BitboardPosition.colorOf(king.getColor()) ^ 1;
+        return !position.isSquareAttacked(Bitboards.square(row, 4), enemy) &&
+                !position.isSquareAttacked(Bitboards.square(row, 3), enemy) &&
+                !position.isSquareAttacked(Bitboards.square(row, 2), enemy);
     }
 
     private Piece identifyPiece(Move move) {
@@ -475,18 +735,17 @@ public class GameSimulator {
 
     private Piece findGeneralPiece(Move move, char pieceType, Color color, Position targetPos) {
         List<Piece> candidates = new ArrayList<>();
-
-        // Find all pieces of the given type that could move to the target
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = board[i][j];
-                if (piece == null || piece.getColor() != color) continue;
-
-                if (isPieceOfType(piece, pieceType) &&
-                        piece.canGo(targetPos) &&
-                        ChessUtils.isPathClear(board, piece, targetPos)) {
-                    candidates.add(piece);
-                }
+        int type = "PNBRQK".indexOf(pieceType);
+        if (type < 0) return null;
+
+        // Find all pieces of the given type that could move to the target,
+        // visiting only the squares the bitboard of that piece type marks
+        long pieces = position.pieces(BitboardPosition.colorOf(color), type);
+        for (; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            Piece piece = board[square >>> 3][square & 7];
+            if (piece.canGo(targetPos) && ChessUtils.isPathClear(board, piece, targetPos)) {
+                candidates.add(piece);
             }
         }
 
@@ -497,18 +756,6 @@ public class GameSimulator {
         return disambiguatePieces(candidates, move.getFile(), move.getRank());
     }
 
-    private boolean isPieceOfType(Piece piece, char pieceType) {
-        return switch (pieceType) {
-            case 'P' -> piece instanceof Pawn;
-            case 'R' -> piece instanceof Rook;
-            case 'N' -> piece instanceof Knight;
-            case 'B' -> piece instanceof Bishop;
-            case 'Q' -> piece instanceof Queen;
-            case 'K' -> piece instanceof King;
-            default -> false;
-        };
-    }
-
     private Piece disambiguatePieces(List<Piece> candidates, char fileHint, int rankHint) {
         for (Piece candidate : candidates) {
             Position pos = candidate.getPosition();
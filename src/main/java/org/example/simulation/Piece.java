@@ -4,7 +4,6 @@ import org.example.simulation.pieces.Knight;
 import org.example.simulation.pieces.Pawn;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.attributes.Position;
-import org.example.simulation.pieces.King;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,69 +34,6 @@ public abstract class Piece {
         return color;
     }
 
-    /**
-     * Checks if this piece is putting the opponent's king in check
-     *
-     * @param board The current chess board
-     * @return true if the piece is checking the opponent's king
-     */
-    public boolean checks(Piece[][] board) {
-        // Find opponent's king
-        Position kingPosition = null;
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board[i][j] instanceof King &&
-                        board[i][j].getColor() != this.getColor()) {
-                    kingPosition = board[i][j].getPosition();
-                    break;
-                }
-            }
-            if (kingPosition != null) break;
-        }
-
-        if (kingPosition == null) {
-            return false;
-        }
-
-        // Check if this piece can attack the king
-        if (!canGo(kingPosition)) {
-            return false;
-        }
-
-        // Check if path to king is clear (for non-Knight pieces)
-        if (!(this instanceof Knight)) {
-            int startX = position.getX();
-            int startY = position.getY();
-            int kingX = kingPosition.getX();
-            int kingY = kingPosition.getY();
-
-            // Determine direction of movement
-            int deltaX = (kingX != startX) ? (kingX - startX) / Math.abs(kingX - startX) : 0;
-            int deltaY = (kingY != startY) ? (kingY - startY) / Math.abs(kingY - startY) : 0;
-
-            // Start from position next to piece
-            int x = startX + deltaX;
-            int y = startY + deltaY;
-
-            // Check each square between piece and king
-            while (x != kingX || y != kingY) {
-                // Make sure we're still in bounds
-                if (x < 0 || x >= 8 || y < 0 || y >= 8) {
-                    return false; // Out of bounds
-                }
-
-                if (board[x][y] != null) {
-                    return false; // Path is blocked
-                }
-
-                x += deltaX;
-                y += deltaY;
-            }
-        }
-
-        return true; // King is in check
-    }
-
     /**
      * Determines if this piece can move to the given position according to chess rules,
      * without considering other pieces on the board (blocked paths, etc.)
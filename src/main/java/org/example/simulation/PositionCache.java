@@ -0,0 +1,154 @@
+package org.example.simulation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of checkmate status keyed by Zobrist position key,
+ * so positions that recur across games are evaluated once.
+ * Check status is not cached: the bitboard answers it faster than a cache lookup.
+ * GameSimulator only asks for the status after a move marked # and for the final position,
+ * and those rarely recur across games, so most collections get few or no hits; the cache pays
+ * off for databases that hold the same games or finishes several times.
+ *
+ * Entries live in sets of WAYS slots selected by the key; a full set evicts with the CLOCK
+ * algorithm: the hand skips and clears recently used slots and replaces the first unused one.
+ * Each set is guarded by one of a fixed number of lock stripes, so threads working on
+ * different positions rarely contend.
+ */
+public class PositionCache {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    // status bits stored per position, for the side to move
+    public static final int MATE_KNOWN = 1;
+    public static final int CHECKMATE = 2;
+
+    private static final int WAYS = 8;
+    private static final int STRIPES = 64;
+
+    private final long[] keys;
+    // status bits per slot, 0 for an empty slot
+    private final byte[] status;
+    private final boolean[] referenced;
+    private final byte[] hands;
+    private final int setMask;
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity Maximum number of positions, rounded up to a power of two
+     */
+    public PositionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        int sets = Integer.highestOneBit(Math.max((capacity + WAYS - 1) / WAYS, 1) * 2 - 1);
+        keys = new long[sets * WAYS];
+        status = new byte[sets * WAYS];
+        referenced = new boolean[sets * WAYS];
+        hands = new byte[sets];
+        setMask = sets - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public PositionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key Zobrist key of the position
+     * @return The status bits stored for the position, 0 if it is not cached
+     */
+    public int get(long key) {
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (status[slot] != 0 && keys[slot] == key) {
+                    referenced[slot] = true;
+                    hits.increment();
+                    return status[slot];
+                }
+            }
+        }
+        misses.increment();
+        return 0;
+    }
+
+    /**
+     * Adds status bits to a position, inserting it if it is not cached yet.
+     *
+     * @param key Zobrist key of the position
+     * @param bits Status bits to add
+     */
+    public void put(long key, int bits) {
+        if (bits == 0) {
+            return;
+        }
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int free = -1;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (status[slot] == 0) {
+                    if (free < 0) free = slot;
+                } else if (keys[slot] == key) {
+                    status[slot] |= (byte) bits;
+                    referenced[slot] = true;
+                    return;
+                }
+            }
+
+            int slot = (free >= 0) ? free : evict(set, base);
+            keys[slot] = key;
+            status[slot] = (byte) bits;
+            referenced[slot] = true;
+        }
+    }
+
+    // CLOCK: clear reference bits until a slot that was not used since the last pass comes up
+    private int evict(int set, int base) {
+        int hand = hands[set];
+        while (referenced[base + hand]) {
+            referenced[base + hand] = false;
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        hands[set] = (byte) ((hand + 1) & (WAYS - 1));
+        evictions.increment();
+        return base + hand;
+    }
+
+    private int setOf(long key) {
+        // the low bits of a Zobrist key are as random as the high ones
+        return (int) (key ^ (key >>> 32)) & setMask;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        long lookups = getHits() + getMisses();
+        return "Position cache: hits: " + getHits() +
+                ", misses: " + getMisses() +
+                ", evictions: " + getEvictions() +
+                String.format(", hit rate: %.1f%%", (lookups == 0) ? 0.0 : 100.0 * getHits() / lookups);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.simulation;
+
+/**
+ * How the result in the PGN tags compares to the final position of a fully validated game.
+ */
+public enum ResultVerification {
+    /** Checkmate or a draw rule on the board agrees with the PGN result. */
+    CONFIRMED,
+    /** The board contradicts the PGN result, e.g. a checkmate for the other side. */
+    CONTRADICTED,
+    /** The board neither confirms nor contradicts it: resignations, time forfeits, agreed draws. */
+    UNVERIFIED
+}
@@ -0,0 +1,44 @@
+package org.example.simulation;
+
+/**
+ * Why a game failed validation. The simulator returns these instead of building messages,
+ * so failures can be counted by kind; the message is only formatted for reporters that print it.
+ */
+public enum ValidationError {
+    NO_RECORD("Cannot make simulation", false),
+    NO_MOVES("No moves to simulate", false),
+    UNKNOWN_PIECE("Error: Cannot identify piece for move ", true),
+    CAPTURE_MISMATCH("Error: Capture status mismatch for move ", true),
+    FILE_AMBIGUITY("Error: Wrong file ambiguity", false),
+    RANK_AMBIGUITY("Error: Wrong rank ambiguity", false),
+    KING_LEFT_IN_CHECK("Error: Move leaves the king in check ", true),
+    CHECK_MISMATCH("Error: Check status mismatch for move ", true),
+    CHECKMATE_MISMATCH("Error: Checkmate status mismatch for move ", true),
+    INVALID_PROMOTION("Error: Invalid promotion piece", false),
+    ILLEGAL_KING_SIDE_CASTLING("Error: Invalid king-side castling", false),
+    ILLEGAL_QUEEN_SIDE_CASTLING("Error: Invalid queen-side castling", false),
+    INTERNAL_ERROR("Error: Validation stopped with an exception", false);
+
+    private final String message;
+    private final boolean namesMove;
+
+    ValidationError(String message, boolean namesMove) {
+        this.message = message;
+        this.namesMove = namesMove;
+    }
+
+    /**
+     * @return true if a particular move of the game is invalid, false if the whole game is
+     */
+    public boolean isMoveError() {
+        return this != NO_RECORD && this != NO_MOVES && this != INTERNAL_ERROR;
+    }
+
+    /**
+     * @param move The SAN of the failing move, null to leave it out
+     * @return The message printed for this error
+     */
+    public String message(String move) {
+        return (namesMove && move != null) ? message + move : message.trim();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.simulation.bitboard;
+
+import static org.example.simulation.bitboard.BitboardPosition.*;
+
+/**
+ * Attack information of one position from the point of view of one side, computed once:
+ * the squares the opponent attacks, the pieces giving check and the own pieces pinned to the king.
+ *
+ * Checkmate and stalemate are answered from the map in a single pass over the own pieces:
+ * a piece helps if it has a target that is inside the check evasion mask (anywhere when not
+ * in check, otherwise the checker or a square between checker and king) and, when pinned,
+ * on the line through the king. No move is made, except to verify an en passant capture.
+ */
+public final class AttackMap {
+    private static final long RANK_2 = Bitboards.RANK_1 << 8;
+    private static final long RANK_7 = Bitboards.RANK_1 << 48;
+
+    private final BitboardPosition position;
+    private final int color;
+    private final int king;
+    private final long attacked;
+    private final long checkers;
+    private final long pinned;
+
+    /**
+     * @param position The position, not modified
+     * @param color The side whose king is examined, WHITE or BLACK
+     */
+    public AttackMap(BitboardPosition position, int color) {
+        this.position = position;
+        this.color = color;
+        this.king = position.kingSquare(color);
+
+        int them = color ^ 1;
+        long occupied = position.occupied();
+        // the king does not shield the squares behind it from a slider
+        attacked = attacks(position, them, (king >= 0) ? occupied & ~(1L << king) : occupied);
+        if (king < 0) {
+            checkers = 0;
+            pinned = 0;
+            return;
+        }
+        checkers = position.attackersOf(king, them, occupied);
+
+        long pins = 0;
+        long queens = position.pieces(them, QUEEN);
+        long snipers = (Bitboards.rookAttacks(king, 0) & (position.pieces(them, ROOK) | queens))
+                | (Bitboards.bishopAttacks(king, 0) & (position.pieces(them, BISHOP) | queens));
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Bitboards.between(king, Long.numberOfTrailingZeros(snipers)) & occupied;
+            // exactly one piece in between, and it is ours
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pins |= blockers & position.colorOccupancy(color);
+            }
+        }
+        pinned = pins;
+    }
+
+    private static long attacks(BitboardPosition position, int side, long occupied) {
+        long result = 0;
+        for (long bb = position.pieces(side, PAWN); bb != 0; bb &= bb - 1) {
+            result |= Bitboards.pawnAttacks(side, Long.numberOfTrailingZeros(bb));
+        }
+        for (long bb = position.pieces(side, KNIGHT); bb != 0; bb &= bb - 1) {
+            result |= Bitboards.knightAttacks(Long.numberOfTrailingZeros(bb));
+        }
+        for (long bb = position.pieces(side, BISHOP) | position.pieces(side, QUEEN); bb != 0; bb &= bb - 1) {
+            result |= Bitboards.bishopAttacks(Long.numberOfTrailingZeros(bb), occupied);
+        }
+        for (long bb = position.pieces(side, ROOK) | position.pieces(side, QUEEN); bb != 0; bb &= bb - 1) {
+            result |= Bitboards.rookAttacks(Long.numberOfTrailingZeros(bb), occupied);
+        }
+        int king = position.kingSquare(side);
+        if (king >= 0) {
+            result |= Bitboards.kingAttacks(king);
+        }
+        return result;
+    }
+
+    /**
+     * @return The squares attacked by the opponent
+     */
+    public long getAttacked() {
+        return attacked;
+    }
+
+    /**
+     * @return The opponent's pieces giving check
+     */
+    public long getCheckers() {
+        return checkers;
+    }
+
+    /**
+     * @return The own pieces that may only move along the line to their king
+     */
+    public long getPinned() {
+        return pinned;
+    }
+
+    public boolean isInCheck() {
+        return checkers != 0;
+    }
+
+    public boolean isCheckmate() {
+        return isInCheck() && !hasLegalMove();
+    }
+
+    public boolean isStalemate() {
+        return !isInCheck() && !hasLegalMove();
+    }
+
+    /**
+     * Castling is not considered: it is never legal in check, and whenever it is legal
+     * the king can also step to the square next to it.
+     *
+     * @return true if the side has at least one legal move
+     */
+    public boolean hasLegalMove() {
+        if (king < 0) {
+            return false;
+        }
+        long own = position.colorOccupancy(color);
+        if ((Bitboards.kingAttacks(king) & ~own & ~attacked) != 0) {
+            return true;
+        }
+        if ((checkers & (checkers - 1)) != 0) {
+            return false; // double check, only the king can move
+        }
+
+        long evasions = ~own;
+        if (checkers != 0) {
+            evasions = checkers | Bitboards.between(king, Long.numberOfTrailingZeros(checkers));
+        }
+
+        long occupied = position.occupied();
+        long enemy = position.colorOccupancy(color ^ 1);
+        for (long bb = own & ~(1L << king); bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            long targets = targets(position.pieceAt(from) % 6, from, occupied, enemy) & evasions;
+            if ((pinned & (1L << from)) != 0) {
+                targets &= Bitboards.line(king, from);
+            }
+            if (targets != 0) {
+                return true;
+            }
+        }
+        return hasEnPassantCapture();
+    }
+
+    private long targets(int type, int from, long occupied, long enemy) {
+        return switch (type) {
+            case PAWN -> pawnTargets(from, occupied, enemy);
+            case KNIGHT -> Bitboards.knightAttacks(from);
+            case BISHOP -> Bitboards.bishopAttacks(from, occupied);
+            case ROOK -> Bitboards.rookAttacks(from, occupied);
+            case QUEEN -> Bitboards.queenAttacks(from, occupied);
+            default -> 0;
+        };
+    }
+
+    private long pawnTargets(int from, long occupied, long enemy) {
+        long captures = Bitboards.pawnAttacks(color, from) & enemy;
+        long pawn = 1L << from;
+        long single;
+        long dbl;
+        if (color == WHITE) {
+            single = (pawn << 8) & ~occupied;
+            dbl = ((single & (RANK_2 << 8)) << 8) & ~occupied;
+        } else {
+            single = (pawn >>> 8) & ~occupied;
+            dbl = ((single & (RANK_7 >>> 8)) >>> 8) & ~occupied;
+        }
+        return captures | single | dbl;
+    }
+
+    // en passant can remove a checker that is not on the target square, or expose the king along
+    // the rank of both pawns, so it is verified by playing it
+    private boolean hasEnPassantCapture() {
+        int target = position.getEnPassantSquare();
+        if (target < 0 || color != position.getSideToMove()) {
+            return false;
+        }
+        long pawns = Bitboards.pawnAttacks(color ^ 1, target) & position.pieces(color, PAWN);
+        for (; pawns != 0; pawns &= pawns - 1) {
+            int move = PackedMove.of(Long.numberOfTrailingZeros(pawns), target, PAWN, 0,
+                    PackedMove.CAPTURE | PackedMove.EN_PASSANT);
+            if (MoveGenerator.isLegal(position, move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
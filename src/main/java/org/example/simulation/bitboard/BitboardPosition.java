@@ -0,0 +1,451 @@
+package org.example.simulation.bitboard;
+
+import org.example.simulation.Piece;
+import org.example.simulation.pieces.*;
+import org.example.simulation.pieces.attributes.Color;
+
+import java.util.Arrays;
+
+/**
+ * Board state as one 64-bit occupancy per piece type and color, plus a square-indexed
+ * mailbox for answering "what stands here" in constant time.
+ * Attack queries are a handful of table lookups and bitwise operations.
+ * Side to move, castling rights and the en passant square make it a complete position
+ * for move generation (see MoveGenerator).
+ * A Zobrist key of the pieces is kept up to date by every board change (see getKey).
+ *
+ * makeMove pushes a compact undo record, so unmakeMove can take back moves in reverse order;
+ * speculative moves then cost no allocation and leave the position exactly as it was.
+ */
+public class BitboardPosition {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    // marks an empty square in the mailbox
+    public static final int EMPTY = -1;
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // a1, c1, ..., the squares with rank + file even
+    private static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
+
+    // castling rights kept when a piece moves from or to each square
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, 15);
+        CASTLING_MASK[0] = ~WHITE_QUEEN_SIDE & 15;
+        CASTLING_MASK[4] = ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE) & 15;
+        CASTLING_MASK[7] = ~WHITE_KING_SIDE & 15;
+        CASTLING_MASK[56] = ~BLACK_QUEEN_SIDE & 15;
+        CASTLING_MASK[60] = ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE) & 15;
+        CASTLING_MASK[63] = ~BLACK_KING_SIDE & 15;
+    }
+
+    // [color * 6 + type]
+    private final long[] pieces = new long[12];
+    private final long[] colors = new long[2];
+    private long occupied;
+    // color * 6 + type of the piece on each square, EMPTY if none
+    private final byte[] mailbox = new byte[64];
+
+    private int sideToMove = WHITE;
+    private int castlingRights = 0;
+    private int enPassantSquare = -1;
+    // Zobrist key of the pieces only; the rest of the state is added in getKey
+    private long pieceKey = 0;
+
+    // undo records of the moves made so far: move | (captured + 1) << 22 | castling << 26 | (ep + 1) << 30
+    private long[] undoStack = new long[64];
+    // pieceKey before each move
+    private long[] undoKeys = new long[64];
+    private int undoSize = 0;
+
+    public BitboardPosition() {
+        Arrays.fill(mailbox, (byte) EMPTY);
+    }
+
+    /**
+     * Copies another position, without its undo history.
+     */
+    public BitboardPosition(BitboardPosition other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(other.colors, 0, colors, 0, colors.length);
+        System.arraycopy(other.mailbox, 0, mailbox, 0, mailbox.length);
+        occupied = other.occupied;
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        pieceKey = other.pieceKey;
+    }
+
+    /**
+     * Reads the board, side to move, castling rights and en passant square of a FEN string.
+     *
+     * @param fen Forsyth-Edwards Notation, e.g. START_FEN
+     * @return The described position
+     */
+    public static BitboardPosition fromFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Incomplete FEN: " + fen);
+        }
+
+        BitboardPosition position = new BitboardPosition();
+        int rank = 7;
+        int file = 0;
+        for (char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                rank--;
+                file = 0;
+            } else if (Character.isDigit(c)) {
+                file += c - '0';
+            } else {
+                int type = "pnbrqk".indexOf(Character.toLowerCase(c));
+                if (type < 0 || rank < 0 || file > 7) {
+                    throw new IllegalArgumentException("Invalid FEN board: " + fields[0]);
+                }
+                position.put(Character.isUpperCase(c) ? WHITE : BLACK, type, Bitboards.square(rank, file));
+                file++;
+            }
+        }
+
+        position.sideToMove = fields[1].equals("b") ? BLACK : WHITE;
+        for (char c : fields[2].toCharArray()) {
+            switch (c) {
+                case 'K' -> position.castlingRights |= WHITE_KING_SIDE;
+                case 'Q' -> position.castlingRights |= WHITE_QUEEN_SIDE;
+                case 'k' -> position.castlingRights |= BLACK_KING_SIDE;
+                case 'q' -> position.castlingRights |= BLACK_QUEEN_SIDE;
+                default -> {
+                }
+            }
+        }
+        if (!fields[3].equals("-")) {
+            position.enPassantSquare = Bitboards.square(fields[3].charAt(1) - '1', fields[3].charAt(0) - 'a');
+        }
+        return position;
+    }
+
+    /**
+     * Builds the bitboards for a Piece[][] board of the simulator.
+     *
+     * @param board The board, indexed [rank][file]
+     * @return A position with the same pieces on the same squares
+     */
+    public static BitboardPosition from(Piece[][] board) {
+        BitboardPosition position = new BitboardPosition();
+        for (int rank = 0; rank < 8; rank++) {
+            for (int file = 0; file < 8; file++) {
+                Piece piece = board[rank][file];
+                if (piece != null) {
+                    position.put(colorOf(piece.getColor()), typeOf(piece), Bitboards.square(rank, file));
+                }
+            }
+        }
+        return position;
+    }
+
+    public static int colorOf(Color color) {
+        return (color == Color.white) ? WHITE : BLACK;
+    }
+
+    public static int typeOf(Piece piece) {
+        return switch (piece) {
+            case Pawn pawn -> PAWN;
+            case Knight knight -> KNIGHT;
+            case Bishop bishop -> BISHOP;
+            case Rook rook -> ROOK;
+            case Queen queen -> QUEEN;
+            case King king -> KING;
+            default -> throw new IllegalArgumentException("Unknown piece: " + piece);
+        };
+    }
+
+    /**
+     * Places a piece on an empty square.
+     */
+    public void put(int color, int type, int square) {
+        long bit = 1L << square;
+        pieces[color * 6 + type] |= bit;
+        colors[color] |= bit;
+        occupied |= bit;
+        mailbox[square] = (byte) (color * 6 + type);
+        pieceKey ^= Zobrist.piece(color * 6 + type, square);
+    }
+
+    /**
+     * Removes whatever piece stands on the square, if any.
+     */
+    public void clear(int square) {
+        int piece = mailbox[square];
+        if (piece == EMPTY) {
+            return;
+        }
+        long bit = 1L << square;
+        pieces[piece] &= ~bit;
+        colors[piece / 6] &= ~bit;
+        occupied &= ~bit;
+        mailbox[square] = EMPTY;
+        pieceKey ^= Zobrist.piece(piece, square);
+    }
+
+    /**
+     * Moves the piece on one square to another, capturing whatever stands there.
+     */
+    public void move(int from, int to) {
+        int piece = mailbox[from];
+        clear(to);
+        clear(from);
+        put(piece / 6, piece % 6, to);
+    }
+
+    /**
+     * Plays a move produced by MoveGenerator for the side to move.
+     * Handles captures, en passant, castling, promotion and updates all position state.
+     *
+     * @param move A PackedMove
+     */
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flags = PackedMove.flags(move);
+        int us = sideToMove;
+
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+            undoKeys = Arrays.copyOf(undoKeys, undoSize * 2);
+        }
+        undoStack[undoSize] = move
+                | (long) (mailbox[to] + 1) << 22
+                | (long) castlingRights << 26
+                | (long) (enPassantSquare + 1) << 30;
+        undoKeys[undoSize++] = pieceKey;
+
+        if ((flags & PackedMove.EN_PASSANT) != 0) {
+            clear(us == WHITE ? to - 8 : to + 8);
+        }
+        if ((flags & PackedMove.CASTLE) != 0) {
+            // the rook jumps over the king: h-file to f-file or a-file to d-file
+            if (to > from) {
+                move(to + 1, to - 1);
+            } else {
+                move(to - 2, to + 1);
+            }
+        }
+
+        move(from, to);
+        int promotion = PackedMove.promotion(move);
+        if (promotion != 0) {
+            clear(to);
+            put(us, promotion, to);
+        }
+
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        enPassantSquare = ((flags & PackedMove.DOUBLE_PUSH) != 0) ? (from + to) >>> 1 : -1;
+        sideToMove = us ^ 1;
+    }
+
+    /**
+     * Zobrist key of the position: pieces, side to move, castling rights and the en passant file.
+     * The en passant file only counts when a pawn of the side to move can capture there, so
+     * positions that allow the same moves get the same key, as repetition rules require.
+     *
+     * @return 64-bit position key
+     */
+    public long getKey() {
+        long key = pieceKey ^ Zobrist.castling(castlingRights);
+        if (sideToMove == BLACK) {
+            key ^= Zobrist.blackToMove();
+        }
+        if (enPassantSquare >= 0
+                && (Bitboards.pawnAttacks(sideToMove ^ 1, enPassantSquare) & pieces(sideToMove, PAWN)) != 0) {
+            key ^= Zobrist.enPassant(enPassantSquare);
+        }
+        return key;
+    }
+
+    /**
+     * Takes back the last move made with makeMove.
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("No move to take back");
+        }
+        long undo = undoStack[--undoSize];
+        int move = (int) (undo & 0x3FFFFF);
+        int captured = (int) ((undo >>> 22) & 15) - 1;
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flags = PackedMove.flags(move);
+        int us = sideToMove ^ 1;
+
+        if (PackedMove.promotion(move) != 0) {
+            clear(to);
+            put(us, PAWN, to);
+        }
+        move(to, from);
+        if (captured != EMPTY) {
+            put(captured / 6, captured % 6, to);
+        }
+        if ((flags & PackedMove.EN_PASSANT) != 0) {
+            put(us ^ 1, PAWN, us == WHITE ? to - 8 : to + 8);
+        }
+        if ((flags & PackedMove.CASTLE) != 0) {
+            if (to > from) {
+                move(to - 1, to + 1);
+            } else {
+                move(to + 1, to - 2);
+            }
+        }
+
+        sideToMove = us;
+        castlingRights = (int) ((undo >>> 26) & 15);
+        enPassantSquare = (int) ((undo >>> 30) & 127) - 1;
+        pieceKey = undoKeys[undoSize];
+    }
+
+    /**
+     * @return Number of moves that unmakeMove can take back
+     */
+    public int getUndoDepth() {
+        return undoSize;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(int sideToMove) {
+        this.sideToMove = sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        this.castlingRights = castlingRights;
+    }
+
+    /**
+     * @return The square a pawn skipped with its last double push, or -1
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    /**
+     * @return color * 6 + type of the piece on the square, or EMPTY
+     */
+    public int pieceAt(int square) {
+        return mailbox[square];
+    }
+
+    public long pieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    public long colorOccupancy(int color) {
+        return colors[color];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    public int kingSquare(int color) {
+        long king = pieces[color * 6 + KING];
+        return (king == 0) ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Checks whether any piece of the given color attacks the square.
+     *
+     * @param square The target square
+     * @param byColor The attacking side
+     * @return true if the square is attacked
+     */
+    public boolean isSquareAttacked(int square, int byColor) {
+        return isSquareAttacked(square, byColor, occupied);
+    }
+
+    /**
+     * Same as isSquareAttacked(square, byColor) with a custom occupancy for the sliding pieces,
+     * e.g. without the king that is about to move along the attacked line.
+     */
+    public boolean isSquareAttacked(int square, int byColor, long occupancy) {
+        int base = byColor * 6;
+        if ((Bitboards.pawnAttacks(byColor ^ 1, square) & pieces[base + PAWN]) != 0) return true;
+        if ((Bitboards.knightAttacks(square) & pieces[base + KNIGHT]) != 0) return true;
+        if ((Bitboards.kingAttacks(square) & pieces[base + KING]) != 0) return true;
+
+        long queens = pieces[base + QUEEN];
+        long diagonal = pieces[base + BISHOP] | queens;
+        if (diagonal != 0 && (Bitboards.bishopAttacks(square, occupancy) & diagonal) != 0) return true;
+        long straight = pieces[base + ROOK] | queens;
+        return straight != 0 && (Bitboards.rookAttacks(square, occupancy) & straight) != 0;
+    }
+
+    /**
+     * @return Bitboard of all pieces of the given color attacking the square
+     */
+    public long attackersOf(int square, int byColor, long occupancy) {
+        int base = byColor * 6;
+        long queens = pieces[base + QUEEN];
+        return (Bitboards.pawnAttacks(byColor ^ 1, square) & pieces[base + PAWN])
+                | (Bitboards.knightAttacks(square) & pieces[base + KNIGHT])
+                | (Bitboards.kingAttacks(square) & pieces[base + KING])
+                | (Bitboards.bishopAttacks(square, occupancy) & (pieces[base + BISHOP] | queens))
+                | (Bitboards.rookAttacks(square, occupancy) & (pieces[base + ROOK] | queens));
+    }
+
+    /**
+     * Checks for a dead position by material: no pawns, rooks or queens, and either at most
+     * one minor piece on the board or only bishops, all on squares of the same color.
+     *
+     * @return true if neither side can ever checkmate
+     */
+    public boolean hasInsufficientMaterial() {
+        long heavy = 0;
+        for (int base = 0; base <= 6; base += 6) {
+            heavy |= pieces[base + PAWN] | pieces[base + ROOK] | pieces[base + QUEEN];
+        }
+        if (heavy != 0) {
+            return false;
+        }
+        long knights = pieces[KNIGHT] | pieces[6 + KNIGHT];
+        long bishops = pieces[BISHOP] | pieces[6 + BISHOP];
+        if (Long.bitCount(knights | bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & DARK_SQUARES) == 0 || (bishops & ~DARK_SQUARES) == 0);
+    }
+
+    /**
+     * @param color The side whose king is tested
+     * @return true if that side's king is attacked
+     */
+    public boolean isInCheck(int color) {
+        int king = kingSquare(color);
+        return king >= 0 && isSquareAttacked(king, color ^ 1);
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.simulation.bitboard;
+
+/**
+ * Precomputed attack tables and attack generation on 64-bit boards.
+ * Square indices follow the Piece[][] layout of the simulator: square = rank * 8 + file,
+ * so a1 = 0, h1 = 7 and h8 = 63.
+ *
+ * Sliding attacks use kindergarten bitboards: the occupancy of a line is collapsed into a
+ * 6-bit index with one multiplication and the attack set is read from a small table.
+ */
+public final class Bitboards {
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_B = 0x0202020202020202L;
+    public static final long RANK_1 = 0xFFL;
+
+    // maps the a-file onto the top byte, rank 1 to the highest bit
+    private static final long FILE_TO_RANK = 0x8040201008040201L;
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    private static final long[] DIAGONAL_MASKS = new long[64];
+    private static final long[] ANTI_DIAGONAL_MASKS = new long[64];
+
+    // [file][inner occupancy] -> attacked files of a slider on the first rank
+    private static final byte[][] FIRST_RANK_ATTACKS = new byte[8][64];
+    // same attacks copied to every rank, used for the diagonals
+    private static final long[][] FILL_UP_ATTACKS = new long[8][64];
+    // [rank][inner occupancy] -> attacked squares of a slider on the a-file
+    private static final long[][] A_FILE_ATTACKS = new long[8][64];
+
+    // [a][b] -> squares strictly between two squares on a common line, 0 if there is no line
+    private static final long[][] BETWEEN = new long[64][64];
+    // [a][b] -> the whole rank, file or diagonal through both squares, 0 if there is none
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            int rank = square >>> 3;
+            int file = square & 7;
+
+            KNIGHT_ATTACKS[square] = offsets(rank, file, new int[][] {
+                    {1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}});
+            KING_ATTACKS[square] = offsets(rank, file, new int[][] {
+                    {1, -1}, {1, 0}, {1, 1}, {0, -1}, {0, 1}, {-1, -1}, {-1, 0}, {-1, 1}});
+            PAWN_ATTACKS[0][square] = offsets(rank, file, new int[][] {{1, -1}, {1, 1}});
+            PAWN_ATTACKS[1][square] = offsets(rank, file, new int[][] {{-1, -1}, {-1, 1}});
+
+            for (int r = 0; r < 8; r++) {
+                int f = file + (r - rank);
+                if (f >= 0 && f < 8 && r != rank) {
+                    DIAGONAL_MASKS[square] |= 1L << (r * 8 + f);
+                }
+                f = file - (r - rank);
+                if (f >= 0 && f < 8 && r != rank) {
+                    ANTI_DIAGONAL_MASKS[square] |= 1L << (r * 8 + f);
+                }
+            }
+        }
+
+        for (int position = 0; position < 8; position++) {
+            for (int inner = 0; inner < 64; inner++) {
+                // bit i of the occupancy is line square i + 1
+                int occupancy = inner << 1;
+
+                int attacks = 0;
+                for (int i = position + 1; i < 8; i++) {
+                    attacks |= 1 << i;
+                    if ((occupancy & (1 << i)) != 0) break;
+                }
+                for (int i = position - 1; i >= 0; i--) {
+                    attacks |= 1 << i;
+                    if ((occupancy & (1 << i)) != 0) break;
+                }
+                FIRST_RANK_ATTACKS[position][inner] = (byte) attacks;
+                FILL_UP_ATTACKS[position][inner] = (attacks & 0xFFL) * FILE_A;
+
+                // the file index is reversed: bit i of the occupancy is rank 6 - i
+                long fileAttacks = 0;
+                for (int r = position + 1; r < 8; r++) {
+                    fileAttacks |= 1L << (r * 8);
+                    if (r < 7 && (inner & (1 << (6 - r))) != 0) break;
+                }
+                for (int r = position - 1; r >= 0; r--) {
+                    fileAttacks |= 1L << (r * 8);
+                    if (r > 0 && (inner & (1 << (6 - r))) != 0) break;
+                }
+                A_FILE_ATTACKS[position][inner] = fileAttacks;
+            }
+        }
+
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) continue;
+                long ends = (1L << a) | (1L << b);
+                if ((rookAttacks(a, 0) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, 1L << b) & rookAttacks(b, 1L << a);
+                    LINE[a][b] = (rookAttacks(a, 0) & rookAttacks(b, 0)) | ends;
+                } else if ((bishopAttacks(a, 0) & (1L << b)) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, 1L << b) & bishopAttacks(b, 1L << a);
+                    LINE[a][b] = (bishopAttacks(a, 0) & bishopAttacks(b, 0)) | ends;
+                }
+            }
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    private static long offsets(int rank, int file, int[][] deltas) {
+        long attacks = 0;
+        for (int[] delta : deltas) {
+            int r = rank + delta[0];
+            int f = file + delta[1];
+            if (r >= 0 && r < 8 && f >= 0 && f < 8) {
+                attacks |= 1L << (r * 8 + f);
+            }
+        }
+        return attacks;
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @param color 0 for white, 1 for black
+     * @return The squares a pawn of that color attacks from the given square
+     */
+    public static long pawnAttacks(int color, int square) {
+        return PAWN_ATTACKS[color][square];
+    }
+
+    public static long rankAttacks(int square, long occupied) {
+        int shift = square & ~7;
+        int inner = (int) (occupied >>> (shift + 1)) & 63;
+        return (FIRST_RANK_ATTACKS[square & 7][inner] & 0xFFL) << shift;
+    }
+
+    public static long fileAttacks(int square, long occupied) {
+        int file = square & 7;
+        long line = (occupied >>> file) & FILE_A;
+        int inner = (int) ((line * FILE_TO_RANK) >>> 57) & 63;
+        return A_FILE_ATTACKS[square >>> 3][inner] << file;
+    }
+
+    public static long diagonalAttacks(int square, long occupied) {
+        long mask = DIAGONAL_MASKS[square];
+        int inner = (int) (((occupied & mask) * FILE_B) >>> 58);
+        return mask & FILL_UP_ATTACKS[square & 7][inner];
+    }
+
+    public static long antiDiagonalAttacks(int square, long occupied) {
+        long mask = ANTI_DIAGONAL_MASKS[square];
+        int inner = (int) (((occupied & mask) * FILE_B) >>> 58);
+        return mask & FILL_UP_ATTACKS[square & 7][inner];
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return rankAttacks(square, occupied) | fileAttacks(square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return diagonalAttacks(square, occupied) | antiDiagonalAttacks(square, occupied);
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * @return The squares strictly between a and b if they share a rank, file or diagonal, otherwise 0
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * @return The full line through a and b, including both, if they share one, otherwise 0
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    public static int square(int rank, int file) {
+        return rank * 8 + file;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.simulation.bitboard;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A validated game with its moves stored as one int per half-move (see PackedMove)
+ * instead of Move objects, for keeping many games in memory.
+ * Built by GameSimulator.toCompactRecord once the moves have been replayed on a board,
+ * since the origin square of a SAN move is only known after simulation.
+ */
+public class CompactRecord {
+    private final Map<String, String> tags;
+    private final int[] moves;
+    private final String result;
+
+    public CompactRecord(Map<String, String> tags, int[] moves, String result) {
+        this.tags = tags;
+        this.moves = moves;
+        this.result = result;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * @param index Half-move index, 0 for white's first move
+     * @return The packed move
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /**
+     * @return A copy of all packed moves in order
+     */
+    public int[] getMoves() {
+        return Arrays.copyOf(moves, moves.length);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+}
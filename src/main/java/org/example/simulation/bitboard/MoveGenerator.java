@@ -0,0 +1,194 @@
+package org.example.simulation.bitboard;
+
+import static org.example.simulation.bitboard.BitboardPosition.*;
+
+/**
+ * Generates the moves of the side to move of a BitboardPosition as PackedMove ints.
+ * Pseudo-legal generation covers every piece move, castling, en passant and promotions;
+ * legal generation additionally drops the moves that leave the own king in check.
+ *
+ * Moves are written into a caller supplied array so generation does not allocate;
+ * MAX_MOVES is enough for any reachable position.
+ */
+public final class MoveGenerator {
+    public static final int MAX_MOVES = 256;
+
+    private static final long RANK_3 = Bitboards.RANK_1 << 16;
+    private static final long RANK_6 = Bitboards.RANK_1 << 40;
+    private static final long RANK_8 = Bitboards.RANK_1 << 56;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Writes all pseudo-legal moves of the side to move.
+     *
+     * @param position The position
+     * @param moves Output array of at least MAX_MOVES entries
+     * @return The number of moves written
+     */
+    public static int generatePseudoLegal(BitboardPosition position, int[] moves) {
+        int us = position.getSideToMove();
+        int them = us ^ 1;
+        long own = position.colorOccupancy(us);
+        long enemy = position.colorOccupancy(them);
+        long occupied = position.occupied();
+        long targets = ~own;
+
+        int count = generatePawnMoves(position, us, enemy, occupied, moves, 0);
+
+        for (long bb = position.pieces(us, KNIGHT); bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            count = addTargets(moves, count, from, KNIGHT, Bitboards.knightAttacks(from) & targets, enemy);
+        }
+        for (long bb = position.pieces(us, BISHOP); bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            count = addTargets(moves, count, from, BISHOP, Bitboards.bishopAttacks(from, occupied) & targets, enemy);
+        }
+        for (long bb = position.pieces(us, ROOK); bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            count = addTargets(moves, count, from, ROOK, Bitboards.rookAttacks(from, occupied) & targets, enemy);
+        }
+        for (long bb = position.pieces(us, QUEEN); bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            count = addTargets(moves, count, from, QUEEN, Bitboards.queenAttacks(from, occupied) & targets, enemy);
+        }
+
+        int king = position.kingSquare(us);
+        if (king >= 0) {
+            count = addTargets(moves, count, king, KING, Bitboards.kingAttacks(king) & targets, enemy);
+            count = generateCastling(position, us, king, occupied, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Writes all legal moves of the side to move.
+     *
+     * @param position The position, unchanged when the method returns
+     * @param moves Output array of at least MAX_MOVES entries
+     * @return The number of moves written
+     */
+    public static int generateLegal(BitboardPosition position, int[] moves) {
+        int count = generatePseudoLegal(position, moves);
+        int legal = 0;
+        for (int i = 0; i < count; i++) {
+            if (isLegal(position, moves[i])) {
+                moves[legal++] = moves[i];
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * @return true if the side to move has at least one legal move
+     */
+    public static boolean hasLegalMove(BitboardPosition position) {
+        return new AttackMap(position, position.getSideToMove()).hasLegalMove();
+    }
+
+    /**
+     * Checks that a pseudo-legal move does not leave the mover's king in check.
+     * The move is made and taken back, so the position is unchanged afterwards.
+     */
+    public static boolean isLegal(BitboardPosition position, int move) {
+        int us = position.getSideToMove();
+        position.makeMove(move);
+        boolean legal = !position.isInCheck(us);
+        position.unmakeMove();
+        return legal;
+    }
+
+    private static int generatePawnMoves(BitboardPosition position, int us, long enemy, long occupied,
+                                         int[] moves, int count) {
+        long pawns = position.pieces(us, PAWN);
+        long empty = ~occupied;
+        int forward = (us == WHITE) ? 8 : -8;
+        long promotionRank = (us == WHITE) ? RANK_8 : Bitboards.RANK_1;
+
+        long single;
+        long dbl;
+        if (us == WHITE) {
+            single = (pawns << 8) & empty;
+            dbl = ((single & RANK_3) << 8) & empty;
+        } else {
+            single = (pawns >>> 8) & empty;
+            dbl = ((single & RANK_6) >>> 8) & empty;
+        }
+
+        for (long bb = single; bb != 0; bb &= bb - 1) {
+            int to = Long.numberOfTrailingZeros(bb);
+            count = addPawnMove(moves, count, to - forward, to, 0, promotionRank);
+        }
+        for (long bb = dbl; bb != 0; bb &= bb - 1) {
+            int to = Long.numberOfTrailingZeros(bb);
+            moves[count++] = PackedMove.of(to - 2 * forward, to, PAWN, 0, PackedMove.DOUBLE_PUSH);
+        }
+
+        int enPassant = position.getEnPassantSquare();
+        for (long bb = pawns; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            long attacks = Bitboards.pawnAttacks(us, from);
+            for (long captures = attacks & enemy; captures != 0; captures &= captures - 1) {
+                int to = Long.numberOfTrailingZeros(captures);
+                count = addPawnMove(moves, count, from, to, PackedMove.CAPTURE, promotionRank);
+            }
+            if (enPassant >= 0 && (attacks & (1L << enPassant)) != 0) {
+                moves[count++] = PackedMove.of(from, enPassant, PAWN, 0,
+                        PackedMove.CAPTURE | PackedMove.EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    private static int addPawnMove(int[] moves, int count, int from, int to, int flags, long promotionRank) {
+        if ((promotionRank & (1L << to)) != 0) {
+            moves[count++] = PackedMove.of(from, to, PAWN, QUEEN, flags);
+            moves[count++] = PackedMove.of(from, to, PAWN, ROOK, flags);
+            moves[count++] = PackedMove.of(from, to, PAWN, BISHOP, flags);
+            moves[count++] = PackedMove.of(from, to, PAWN, KNIGHT, flags);
+        } else {
+            moves[count++] = PackedMove.of(from, to, PAWN, 0, flags);
+        }
+        return count;
+    }
+
+    /**
+     * Castling needs the right, empty squares between king and rook, and a king that is not in check
+     * and does not pass through an attacked square. The destination itself is covered by isLegal.
+     */
+    private static int generateCastling(BitboardPosition position, int us, int king, long occupied,
+                                        int[] moves, int count) {
+        int rights = position.getCastlingRights();
+        int kingSide = (us == WHITE) ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        int queenSide = (us == WHITE) ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        if ((rights & (kingSide | queenSide)) == 0) {
+            return count;
+        }
+
+        int them = us ^ 1;
+        if (position.isSquareAttacked(king, them)) {
+            return count;
+        }
+        if ((rights & kingSide) != 0
+                && (occupied & ((1L << (king + 1)) | (1L << (king + 2)))) == 0
+                && !position.isSquareAttacked(king + 1, them)) {
+            moves[count++] = PackedMove.of(king, king + 2, KING, 0, PackedMove.CASTLE);
+        }
+        if ((rights & queenSide) != 0
+                && (occupied & ((1L << (king - 1)) | (1L << (king - 2)) | (1L << (king - 3)))) == 0
+                && !position.isSquareAttacked(king - 1, them)) {
+            moves[count++] = PackedMove.of(king, king - 2, KING, 0, PackedMove.CASTLE);
+        }
+        return count;
+    }
+
+    private static int addTargets(int[] moves, int count, int from, int piece, long targets, long enemy) {
+        for (long bb = targets; bb != 0; bb &= bb - 1) {
+            int to = Long.numberOfTrailingZeros(bb);
+            int flags = ((enemy & (1L << to)) != 0) ? PackedMove.CAPTURE : 0;
+            moves[count++] = PackedMove.of(from, to, piece, 0, flags);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.simulation.bitboard;
+
+/**
+ * A move packed into a single int, so move lists are plain int arrays.
+ *
+ * <pre>
+ * bits  0-5   from square
+ * bits  6-11  to square
+ * bits 12-14  moving piece type (BitboardPosition.PAWN .. KING)
+ * bits 15-17  promotion piece type, 0 if none
+ * bits 18-21  flags (CAPTURE, EN_PASSANT, CASTLE, DOUBLE_PUSH)
+ * </pre>
+ */
+public final class PackedMove {
+    public static final int CAPTURE = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int CASTLE = 4;
+    public static final int DOUBLE_PUSH = 8;
+
+    private PackedMove() {
+    }
+
+    public static int of(int from, int to, int piece, int promotion, int flags) {
+        return from | (to << 6) | (piece << 12) | (promotion << 15) | (flags << 18);
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int piece(int move) {
+        return (move >>> 12) & 7;
+    }
+
+    public static int promotion(int move) {
+        return (move >>> 15) & 7;
+    }
+
+    public static int flags(int move) {
+        return (move >>> 18) & 15;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * @return The move in coordinate notation, e.g. "e2e4" or "e7e8q"
+     */
+    public static String toString(int move) {
+        String text = squareName(from(move)) + squareName(to(move));
+        int promotion = promotion(move);
+        return (promotion == 0) ? text : text + "pnbrqk".charAt(promotion);
+    }
+
+    public static String squareName(int square) {
+        return "" + (char) ('a' + (square & 7)) + (char) ('1' + (square >>> 3));
+    }
+}
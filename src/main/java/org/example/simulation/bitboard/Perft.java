@@ -0,0 +1,64 @@
+package org.example.simulation.bitboard;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth.
+ * The counts of well known positions are published, which makes perft the standard
+ * correctness test for a move generator; the time it takes is a throughput benchmark.
+ */
+public class Perft {
+    // one move list per ply, so the search does not allocate move arrays
+    private final int[][] moveLists;
+
+    public Perft(int maxDepth) {
+        moveLists = new int[Math.max(maxDepth, 1)][MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * @param position The root position, unchanged when the method returns
+     * @param depth Number of plies to search, at most the maxDepth given to the constructor
+     * @return The number of positions reached after exactly depth plies
+     */
+    public long count(BitboardPosition position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        return search(position, depth, 0);
+    }
+
+    private long search(BitboardPosition position, int depth, int ply) {
+        int[] moves = moveLists[ply];
+        int count = MoveGenerator.generateLegal(position, moves);
+        if (depth == 1) {
+            return count;
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            nodes += search(position, depth - 1, ply + 1);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft and prints the node count, the elapsed time and the nodes per second.
+     *
+     * @param fen The root position
+     * @param depth Number of plies to search
+     */
+    public static void run(String fen, int depth) {
+        BitboardPosition position = BitboardPosition.fromFen(fen);
+        Perft perft = new Perft(depth);
+
+        long start = System.nanoTime();
+        long nodes = perft.count(position, depth);
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.println("Depth: " + depth);
+        System.out.println("Nodes: " + nodes);
+        System.out.printf("Time: %.3f s%n", seconds);
+        System.out.printf("Nodes/second: %.0f%n", (seconds > 0) ? nodes / seconds : 0.0);
+    }
+}
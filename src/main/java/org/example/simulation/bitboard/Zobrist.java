@@ -0,0 +1,69 @@
+package org.example.simulation.bitboard;
+
+/**
+ * Random keys for Zobrist hashing. A position key is the XOR of the keys of its pieces on their
+ * squares, its castling rights, its en passant file and the side to move, so a move updates the
+ * key with a few XORs instead of rehashing the board.
+ *
+ * The keys come from a fixed seed, so position keys are stable across runs and can be stored.
+ */
+public final class Zobrist {
+    // [color * 6 + type][square]
+    private static final long[][] PIECES = new long[12][64];
+    // [castling rights bit set]
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (long[] piece : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                seed = next(seed);
+                piece[square] = mix(seed);
+            }
+        }
+        for (int rights = 1; rights < 16; rights++) {
+            seed = next(seed);
+            CASTLING[rights] = mix(seed);
+        }
+        for (int file = 0; file < 8; file++) {
+            seed = next(seed);
+            EN_PASSANT_FILE[file] = mix(seed);
+        }
+        BLACK_TO_MOVE = mix(next(seed));
+    }
+
+    private Zobrist() {
+    }
+
+    private static long next(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param piece color * 6 + type, as stored in the BitboardPosition mailbox
+     */
+    public static long piece(int piece, int square) {
+        return PIECES[piece][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    public static long enPassant(int square) {
+        return EN_PASSANT_FILE[square & 7];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+}
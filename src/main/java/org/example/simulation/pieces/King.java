@@ -1,5 +1,6 @@
 package org.example.simulation.pieces;
 
+import org.example.simulation.ChessUtils;
 import org.example.simulation.Piece;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.attributes.Position;
@@ -58,10 +59,7 @@ public class King extends Piece {
         }
 
         // Check if king is not in check and would not be in check during castling
-        // Note: This would require more complex logic to fully implement
-        // We'll simplify for now
-
-        return true;
+        return !isCastlingPathAttacked(board, row, 4, 5, 6);
     }
 
     public boolean canCastleQueenSide(Piece[][] board) {
@@ -86,29 +84,15 @@ public class King extends Piece {
         }
 
         // Check if king is not in check and would not be in check during castling
-        // Note: This would require more complex logic to fully implement
-        // We'll simplify for now
-
-        return true;
-    }
-
-    @Override
-    public boolean checks(Piece[][] board) {
-        // Kings don't check other kings directly in normal chess
-        return false;
+        return !isCastlingPathAttacked(board, row, 4, 3, 2);
     }
 
-    // Helper method to check if this king is in check
-    public boolean isInCheck(Piece[][] board) {
-        // Check if any opponent piece can attack the king
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Piece piece = board[i][j];
-                if (piece != null && piece.getColor() != this.getColor()) {
-                    if (piece.canGo(this.getPosition()) && piece.checks(board)) {
-                        return true;
-                    }
-                }
+    // the squares the king starts on, passes through and lands on
+    private boolean isCastlingPathAttacked(Piece[][] board, int row, int... columns) {
+        Color opponent = (getColor() == Color.white) ? Color.black : Color.white;
+        for (int y : columns) {
+            if (ChessUtils.isSquareAttacked(board, Position.of((char) ('a' + y), row + 1), opponent)) {
+                return true;
             }
         }
         return false;
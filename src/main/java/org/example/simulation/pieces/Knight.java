@@ -27,28 +27,4 @@ public class Knight extends Piece {
 
         return (xDiff == 1 && yDiff == 2) || (xDiff == 2 && yDiff == 1);
     }
-
-    @Override
-    public boolean checks(Piece[][] board) {
-        // Determine if this knight is checking the opponent's king
-        Position kingPosition = null;
-
-        // Find opponent king's position
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board[i][j] instanceof King &&
-                        board[i][j].getColor() != this.getColor()) {
-                    kingPosition = board[i][j].getPosition();
-                    break;
-                }
-            }
-        }
-
-        if (kingPosition == null) {
-            return false;
-        }
-
-        // Check if knight can reach the king's position in one move
-        return canGo(kingPosition);
-    }
 }
\ No newline at end of file
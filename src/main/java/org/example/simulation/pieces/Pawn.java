@@ -90,37 +90,4 @@ public class Pawn extends Piece {
         // For straight moves, there's only one pawn that can make the move
         return false;
     }
-
-    @Override
-    public boolean checks(Piece[][] board) {
-        // Find opponent king's position
-        Position kingPosition = null;
-
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board[i][j] instanceof King &&
-                        board[i][j].getColor() != this.getColor()) {
-                    kingPosition = board[i][j].getPosition();
-                    break;
-                }
-            }
-            if (kingPosition != null) break;
-        }
-
-        if (kingPosition == null) {
-            return false;
-        }
-
-        // Check if pawn can capture the king (diagonal move)
-        int currentX = getPosition().getX();
-        int currentY = getPosition().getY();
-        int kingX = kingPosition.getX();
-        int kingY = kingPosition.getY();
-
-        int direction = (getColor() == white) ? 1 : -1;
-
-        // Pawn can only check diagonally (capture move)
-        // It must be exactly one square diagonally forward
-        return (kingX == currentX + direction) && (Math.abs(kingY - currentY) == 1);
-    }
 }
\ No newline at end of file
@@ -1,8 +1,19 @@
 package org.example.simulation.pieces.attributes;
 
-import java.util.Objects;
-
+/**
+ * A square of the board. Positions are immutable, so the 64 squares are shared instances:
+ * use Position.of instead of the constructor to avoid allocating on hot paths.
+ */
 public class Position {
+    // canonical instances indexed by square = rank index * 8 + file index
+    private static final Position[] SQUARES = new Position[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            SQUARES[square] = new Position((char) ('a' + (square & 7)), (square >>> 3) + 1);
+        }
+    }
+
     private final char x; // File (a-h)
     private final int y;  // Rank (1-8)
 
@@ -11,6 +22,31 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * @param file File character (a-h)
+     * @param rank Rank number (1-8)
+     * @return The shared instance of the square; a new object only for coordinates off the board
+     */
+    public static Position of(char file, int rank) {
+        if (file < 'a' || file > 'h' || rank < 1 || rank > 8) {
+            return new Position(file, rank);
+        }
+        return SQUARES[(rank - 1) * 8 + (file - 'a')];
+    }
+
+    /**
+     * @param square Square index, rank index * 8 + file index (a1 = 0, h8 = 63)
+     * @return The shared instance of the square
+     */
+    public static Position of(int square) {
+        return SQUARES[square];
+    }
+
+    // Square index as used by the bitboards: rank index * 8 + file index
+    public int getSquare() {
+        return getX() * 8 + getY();
+    }
+
     // Convert to 0-based array index for file (a=0, b=1, etc.)
     public int getX() {
         return y - 1;
@@ -42,7 +78,7 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 
     @Override
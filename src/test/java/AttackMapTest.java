@@ -0,0 +1,79 @@
+import org.example.simulation.ChessUtils;
+import org.example.simulation.Piece;
+import org.example.simulation.bitboard.AttackMap;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.MoveGenerator;
+import org.example.simulation.pieces.*;
+import org.example.simulation.pieces.attributes.Color;
+import org.example.simulation.pieces.attributes.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AttackMap: pins, checkmate and stalemate, and agreement with the legal move generator.
+ */
+public class AttackMapTest {
+
+    @Test
+    public void testPinnedBlockerDoesNotPreventMate() {
+        // the bishop on g2 could block the rook's check on f1, but the queen on a8 pins it to the king
+        Piece[][] board = new Piece[8][8];
+        King whiteKing = new King(new Position('h', 1), Color.white);
+        board[0][7] = whiteKing;
+        board[1][7] = new Pawn(new Position('h', 2), Color.white);
+        board[1][6] = new Bishop(new Position('g', 2), Color.white);
+        board[0][0] = new Rook(new Position('a', 1), Color.black);
+        board[7][0] = new Queen(new Position('a', 8), Color.black);
+        board[7][4] = new King(new Position('e', 8), Color.black);
+
+        AttackMap map = new AttackMap(BitboardPosition.from(board), BitboardPosition.WHITE);
+        assertEquals(1L << 14, map.getPinned(), "Bishop on g2 should be pinned");
+        assertTrue(map.isCheckmate(), "Pinned bishop cannot block");
+        assertTrue(ChessUtils.isCheckmate(board, whiteKing), "ChessUtils should agree");
+
+        // without the queen the bishop blocks on f1
+        board[7][0] = null;
+        assertFalse(ChessUtils.isCheckmate(board, whiteKing), "Bishop can block on f1");
+    }
+
+    @Test
+    public void testStalemate() {
+        BitboardPosition position = BitboardPosition.fromFen("k7/8/1Q6/8/8/8/8/2K5 b - - 0 1");
+        AttackMap map = new AttackMap(position, BitboardPosition.BLACK);
+
+        assertFalse(map.isInCheck(), "Black king should not be in check");
+        assertTrue(map.isStalemate(), "Black has no legal move");
+        assertFalse(map.isCheckmate(), "Stalemate is not checkmate");
+    }
+
+    @Test
+    public void testMatchesLegalMoveGeneration() {
+        String[] fens = {
+                BitboardPosition.START_FEN,
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        };
+        Random random = new Random(11);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (String fen : fens) {
+            for (int game = 0; game < 50; game++) {
+                BitboardPosition position = BitboardPosition.fromFen(fen);
+                for (int ply = 0; ply < 150; ply++) {
+                    int side = position.getSideToMove();
+                    int count = MoveGenerator.generateLegal(position, moves);
+                    AttackMap map = new AttackMap(position, side);
+
+                    assertEquals(position.isInCheck(side), map.isInCheck(), "Check status at ply " + ply);
+                    assertEquals(count > 0, map.hasLegalMove(), "Legal move existence at ply " + ply + " of " + fen);
+                    if (count == 0) {
+                        break;
+                    }
+                    position.makeMove(moves[random.nextInt(count)]);
+                }
+            }
+        }
+    }
+}
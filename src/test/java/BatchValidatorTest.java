@@ -0,0 +1,61 @@
+import org.example.batch.BatchValidator;
+import org.example.batch.ValidationStats;
+import org.example.parsing.GameParser;
+import org.example.parsing.Move;
+import org.example.parsing.MoveList;
+import org.example.parsing.Record;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the BatchValidator class.
+ * Verifies that parallel validation aggregates the same totals as sequential validation.
+ */
+public class BatchValidatorTest {
+
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    private ValidationStats validate(int threads) {
+        try (Stream<Record> records = new GameParser().streamingMoves(PGN_FILE)) {
+            return new BatchValidator(threads).validate(records);
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        ValidationStats sequential = validate(1);
+        ValidationStats parallel = validate(4);
+
+        assertTrue(sequential.getGames() > 0, "Should validate some games");
+        assertEquals(sequential.getGames(), parallel.getGames(), "Same number of games");
+        assertEquals(sequential.getValidGames(), parallel.getValidGames(), "Same number of valid games");
+        assertEquals(sequential.getFailedGames(), parallel.getFailedGames(), "Same number of failed games");
+        assertEquals(sequential.getMoves(), parallel.getMoves(), "Same number of validated moves");
+    }
+
+    @Test
+    public void testInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchValidator(0));
+    }
+
+    @Test
+    public void testExceptionFailsOnlyThatGame() {
+        Record broken = new Record(new HashMap<>(), new MoveList(), "white") {
+            @Override
+            public List<Move> getMoves() {
+                throw new IllegalStateException("broken game");
+            }
+        };
+        try (Stream<Record> records = Stream.concat(Stream.of(broken),
+                new GameParser().streamingMoves(PGN_FILE))) {
+            ValidationStats stats = new BatchValidator(1).validate(records);
+            assertEquals(validate(1).getGames() + 1, stats.getGames(), "Games after the broken one are validated");
+            assertEquals(validate(1).getFailedGames() + 1, stats.getFailedGames(), "Broken game counts as failed");
+        }
+    }
+}
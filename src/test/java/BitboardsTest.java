@@ -0,0 +1,116 @@
+import org.example.simulation.ChessUtils;
+import org.example.simulation.Piece;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.Bitboards;
+import org.example.simulation.pieces.*;
+import org.example.simulation.pieces.attributes.Color;
+import org.example.simulation.pieces.attributes.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Bitboards attack tables and BitboardPosition attack and material queries.
+ * Sliding attacks are compared against a plain ray walk on random occupancies.
+ */
+public class BitboardsTest {
+
+    private static long slide(int square, long occupied, int[][] directions) {
+        long attacks = 0;
+        for (int[] direction : directions) {
+            int rank = square / 8 + direction[0];
+            int file = square % 8 + direction[1];
+            while (rank >= 0 && rank < 8 && file >= 0 && file < 8) {
+                long bit = 1L << (rank * 8 + file);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                rank += direction[0];
+                file += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    @Test
+    public void testSlidingAttacksMatchRayWalk() {
+        int[][] straight = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] diagonal = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            for (int square = 0; square < 64; square++) {
+                assertEquals(slide(square, occupied, straight), Bitboards.rookAttacks(square, occupied),
+                        "Rook attacks from " + square);
+                assertEquals(slide(square, occupied, diagonal), Bitboards.bishopAttacks(square, occupied),
+                        "Bishop attacks from " + square);
+            }
+        }
+    }
+
+    @Test
+    public void testLeaperAttacks() {
+        // knight on a1 attacks b3 and c2
+        assertEquals((1L << 17) | (1L << 10), Bitboards.knightAttacks(0));
+        // king on h8 attacks g8, g7 and h7
+        assertEquals((1L << 62) | (1L << 54) | (1L << 55), Bitboards.kingAttacks(63));
+        // white pawn on e2 attacks d3 and f3, black pawn on e7 attacks d6 and f6
+        assertEquals((1L << 19) | (1L << 21), Bitboards.pawnAttacks(BitboardPosition.WHITE, 12));
+        assertEquals((1L << 43) | (1L << 45), Bitboards.pawnAttacks(BitboardPosition.BLACK, 52));
+    }
+
+    @Test
+    public void testCheckMatchesChessUtils() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Piece[][] board = new Piece[8][8];
+            King whiteKing = new King(new Position('e', 1), Color.white);
+            board[0][4] = whiteKing;
+
+            // scatter a few black pieces around the white king
+            for (int j = 0; j < 6; j++) {
+                int square = 8 + random.nextInt(56);
+                if (board[square / 8][square % 8] != null) continue;
+                Position position = new Position((char) ('a' + square % 8), square / 8 + 1);
+                char type = "PNBRQ".charAt(random.nextInt(5));
+                board[square / 8][square % 8] = ChessUtils.createPiece(type, position, Color.black);
+            }
+
+            BitboardPosition position = BitboardPosition.from(board);
+            assertEquals(ChessUtils.isInCheck(board, whiteKing), position.isInCheck(BitboardPosition.WHITE),
+                    "Check detection should agree on random board " + i);
+        }
+    }
+
+    @Test
+    public void testMoveAndClear() {
+        BitboardPosition position = new BitboardPosition();
+        position.put(BitboardPosition.WHITE, BitboardPosition.ROOK, 0);
+        position.put(BitboardPosition.BLACK, BitboardPosition.KNIGHT, 56);
+
+        position.move(0, 56);
+
+        assertEquals(BitboardPosition.ROOK, position.pieceAt(56));
+        assertEquals(BitboardPosition.EMPTY, position.pieceAt(0));
+        assertEquals(0L, position.pieces(BitboardPosition.BLACK, BitboardPosition.KNIGHT), "Knight was captured");
+        assertEquals(1L << 56, position.occupied());
+    }
+
+    @Test
+    public void testInsufficientMaterial() {
+        assertTrue(BitboardPosition.fromFen("8/8/4k3/8/8/3K4/8/8 w - - 0 1").hasInsufficientMaterial(),
+                "King against king");
+        assertTrue(BitboardPosition.fromFen("8/8/4k3/8/8/3KN3/8/8 w - - 0 1").hasInsufficientMaterial(),
+                "King and knight against king");
+        assertTrue(BitboardPosition.fromFen("8/8/4kb2/8/8/3KB3/8/8 w - - 0 1").hasInsufficientMaterial(),
+                "Bishops on squares of the same color");
+        assertFalse(BitboardPosition.fromFen("8/8/4k1b1/8/8/3KB3/8/8 w - - 0 1").hasInsufficientMaterial(),
+                "Bishops on squares of different colors");
+        assertFalse(BitboardPosition.fromFen("8/8/4k3/8/8/3KNN2/8/8 w - - 0 1").hasInsufficientMaterial(),
+                "Two knights can mate with help");
+        assertFalse(BitboardPosition.fromFen("8/8/4k3/8/8/3K4/4P3/8 w - - 0 1").hasInsufficientMaterial(),
+                "A pawn can promote");
+    }
+}
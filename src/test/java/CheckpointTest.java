@@ -0,0 +1,92 @@
+import org.example.batch.BatchValidator;
+import org.example.batch.Checkpoint;
+import org.example.batch.ValidationStats;
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.SummaryReporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for resuming a batch from a Checkpoint: game end offsets, out of order completion
+ * and the saved file.
+ */
+public class CheckpointTest {
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Record> parse(GameParser.Ingestion ingestion, long offset) {
+        try (Stream<Record> records = new GameParser(ingestion).streamingMoves(PGN_FILE, offset)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testResumeFromGameEnd() throws IOException {
+        List<Record> all = parse(GameParser.Ingestion.MEMORY_MAPPED, 0);
+        int index = 10;
+        assertNotNull(all.get(index), "Game should parse");
+        long offset = all.get(index).getEndOffset();
+        assertTrue(offset > 0, "Memory-mapped ingestion should track offsets");
+        assertEquals(Files.size(Path.of(PGN_FILE)), all.get(all.size() - 1).getEndOffset(),
+                "Last game should end at the end of the file");
+
+        for (GameParser.Ingestion ingestion : GameParser.Ingestion.values()) {
+            List<Record> rest = parse(ingestion, offset);
+            assertEquals(all.size() - index - 1, rest.size(), "Remaining games with " + ingestion);
+            assertEquals(all.get(index + 1).getTags(), rest.get(0).getTags(), "First resumed game with " + ingestion);
+        }
+    }
+
+    @Test
+    public void testOutOfOrderCompletion() throws IOException {
+        Path file = tempDir.resolve("progress.checkpoint");
+        Checkpoint checkpoint = new Checkpoint(file, 1);
+        assertEquals(0, checkpoint.getOffset(), "No earlier run");
+
+        checkpoint.gameFinished(1, 200);
+        assertEquals(0, checkpoint.getOffset(), "Game 0 is not finished yet");
+        checkpoint.gameFinished(0, 100);
+        assertEquals(200, checkpoint.getOffset(), "Games 0 and 1 are finished");
+        checkpoint.gameFinished(2, -1);
+        assertEquals(200, checkpoint.getOffset(), "A game without offset keeps the last one");
+        checkpoint.gameFinished(3, 300);
+
+        assertEquals(300, new Checkpoint(file).getOffset(), "Saved offset should be read back");
+        checkpoint.delete();
+        assertEquals(0, new Checkpoint(file).getOffset(), "Deleted checkpoint starts from the beginning");
+    }
+
+    @Test
+    public void testValidatorSavesProgress() throws IOException {
+        Path file = tempDir.resolve("batch.checkpoint");
+        Checkpoint checkpoint = new Checkpoint(file);
+        try (Stream<Record> records = new GameParser(GameParser.Ingestion.MEMORY_MAPPED).streamingMoves(PGN_FILE)) {
+            ValidationStats stats = new BatchValidator(4, null, checkpoint).validate(records);
+            assertTrue(stats.getGames() > 0, "Should validate some games");
+        }
+        assertEquals(Files.size(Path.of(PGN_FILE)), new Checkpoint(file).getOffset(),
+                "A finished run should be saved at the end of the file");
+    }
+
+    @Test
+    public void testWriteErrorsGoToReporter() throws IOException {
+        SummaryReporter reporter = new SummaryReporter();
+        Checkpoint checkpoint = new Checkpoint(tempDir.resolve("missing").resolve("batch.checkpoint"), 1, reporter);
+        checkpoint.gameFinished(0, 100);
+
+        assertEquals(1, reporter.getErrors(), "A failed save should be reported");
+        assertEquals(100, checkpoint.getOffset(), "The offset is kept for the next save");
+    }
+}
@@ -1,5 +1,6 @@
 import org.example.simulation.ChessUtils;
 import org.example.simulation.Piece;
+import org.example.simulation.bitboard.BitboardPosition;
 import org.example.simulation.pieces.*;
 import org.example.simulation.pieces.attributes.Color;
 import org.example.simulation.pieces.attributes.Position;
@@ -256,4 +257,59 @@ public class ChessUtilsTest {
         assertSame(rook, board[4][0], "Piece should be at new position");
         assertEquals(newPos, rook.getPosition(), "Piece's internal position should be updated");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsInCheck_BlockedRook() {
+        // Rook on the e-file checks, then a blocker is placed between rook and king
+        Rook rook = new Rook(new Position('e', 5), Color.black);
+        board[4][4] = rook;
+        assertTrue(ChessUtils.isInCheck(board, whiteKing), "Rook gives check");
+
+        board[2][4] = new Knight(new Position('e', 3), Color.white);
+        assertFalse(ChessUtils.isInCheck(board, whiteKing), "Knight blocks the rook");
+    }
+
+    @Test
+    public void testIsCheckmate_LivePiecesMatchFullScan() {
+        // back rank mate: rook on the first rank, own pawns block the king
+        board[0][4] = null;
+        whiteKing.setPosition(new Position('g', 1));
+        board[0][6] = whiteKing;
+        board[1][5] = new Pawn(new Position('f', 2), Color.white);
+        board[1][6] = new Pawn(new Position('g', 2), Color.white);
+        board[1][7] = new Pawn(new Position('h', 2), Color.white);
+        board[0][0] = new Rook(new Position('a', 1), Color.black);
+
+        BitboardPosition position = BitboardPosition.from(board);
+        assertTrue(ChessUtils.isCheckmate(board, whiteKing, position), "Back rank mate");
+
+        // a bishop that can take the rook breaks the mate
+        board[1][1] = new Bishop(new Position('b', 2), Color.white);
+        assertEquals(ChessUtils.isCheckmate(board, whiteKing),
+                ChessUtils.isCheckmate(board, whiteKing, BitboardPosition.from(board)),
+                "Both variants should agree");
+        assertFalse(ChessUtils.isCheckmate(board, whiteKing, BitboardPosition.from(board)),
+                "Bishop on b2 can capture the rook on a1");
+    }
+
+    @Test
+    public void testIsSquareAttacked_MatchesBitboard() {
+        // pieces of both colors block each other's rays
+        board[3][3] = new Queen(new Position('d', 4), Color.black);
+        board[3][5] = new Pawn(new Position('f', 4), Color.white);
+        board[5][1] = new Knight(new Position('b', 6), Color.black);
+        board[1][6] = new Bishop(new Position('g', 2), Color.white);
+        board[6][0] = new Pawn(new Position('a', 7), Color.black);
+        BitboardPosition position = BitboardPosition.from(board);
+
+        for (int square = 0; square < 64; square++) {
+            Position target = Position.of(square);
+            assertEquals(position.isSquareAttacked(square, BitboardPosition.WHITE),
+                    ChessUtils.isSquareAttacked(board, target, Color.white), "White attacks " + target);
+            assertEquals(position.isSquareAttacked(square, BitboardPosition.BLACK),
+                    ChessUtils.isSquareAttacked(board, target, Color.black), "Black attacks " + target);
+        }
+        assertFalse(ChessUtils.isSquareAttacked(board, new Position('h', 4), Color.black),
+                "The pawn on f4 blocks the queen's rank");
+    }
+}
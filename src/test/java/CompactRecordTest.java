@@ -0,0 +1,59 @@
+import org.example.parsing.GameParser;
+import org.example.parsing.Move;
+import org.example.parsing.Record;
+import org.example.simulation.GameSimulator;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.CompactRecord;
+import org.example.simulation.bitboard.PackedMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed moves GameSimulator records and the CompactRecord built from them.
+ * Replaying the packed moves from the starting position must reproduce the simulated board.
+ */
+public class CompactRecordTest {
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    @Test
+    public void testPackedMovesReplayToSameBoard() {
+        List<Record> records = new GameParser().parsingMoves(PGN_FILE);
+        int games = 0;
+        for (Record record : records) {
+            GameSimulator simulator = new GameSimulator(record);
+            if (!simulator.runGame()) {
+                continue;
+            }
+            games++;
+
+            CompactRecord compact = simulator.toCompactRecord();
+            assertEquals(simulator.getCompletedMoves(), compact.getMoveCount(), "One packed move per half-move");
+
+            BitboardPosition replay = BitboardPosition.fromFen(BitboardPosition.START_FEN);
+            for (int i = 0; i < compact.getMoveCount(); i++) {
+                replay.makeMove(compact.getMove(i));
+            }
+            for (int square = 0; square < 64; square++) {
+                assertEquals(simulator.getPosition().pieceAt(square), replay.pieceAt(square),
+                        "Replayed board differs on " + PackedMove.squareName(square));
+            }
+        }
+        assertTrue(games > 0, "Some games should be valid");
+    }
+
+    @Test
+    public void testPackedMoveFields() {
+        List<Record> records = new GameParser().parsingMoves(PGN_FILE);
+        GameSimulator simulator = new GameSimulator(records.get(0));
+        simulator.runGame();
+
+        int first = simulator.toCompactRecord().getMove(0);
+        Move firstMove = records.get(0).getMoves().get(0);
+        assertEquals(firstMove.getNewPosition().getX() * 8 + firstMove.getNewPosition().getY(), PackedMove.to(first),
+                "Target square should match the SAN move");
+        assertEquals(records.get(0).getResult(), simulator.toCompactRecord().getResult(), "Result should be kept");
+    }
+}
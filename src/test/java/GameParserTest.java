@@ -1,5 +1,6 @@
 import org.example.parsing.GameParser;
 import org.example.parsing.Move;
+import org.example.parsing.MoveList;
 import org.example.parsing.Record;
 import org.example.simulation.pieces.attributes.Color;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -337,6 +340,77 @@ public class GameParserTest {
         assertTrue(records.contains(null), "List should contain a null record due to invalid syntax");
     }
 
+    @Test
+    public void testStreamingMatchesListParsing() throws IOException {
+        // Streaming should yield the same games, in the same order, as the list API
+        Path pgnFile = tempDir.resolve("streaming.pgn");
+        String content = """
+                [Event "Game 1"]
+                [Result "1-0"]
+                
+                1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 1-0
+                
+                [Event "Game 2"]
+                [Result "0-1"]
+                
+                1. d4 d5 3. c4 e6 0-1
+                
+                [Event "Game 3"]
+                [Result "1/2-1/2"]
+                
+                1. c4 e5 1/2-1/2
+                """;
+        Files.writeString(pgnFile, content);
+
+        List<Record> expected = parser.parsingMoves(pgnFile.toString());
+        List<Record> streamed;
+        try (Stream<Record> records = parser.streamingMoves(pgnFile.toString())) {
+            streamed = records.toList();
+        }
+
+        assertEquals(3, streamed.size(), "Should stream three games");
+        assertEquals(6, streamed.get(0).getMoves().size(), "First game should have 6 moves");
+        assertNull(streamed.get(1), "Second game has a missing round and should be null");
+        assertEquals(2, streamed.get(2).getMoves().size(), "Third game should have 2 moves");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i) == null, streamed.get(i) == null);
+        }
+    }
+
+    @Test
+    public void testMemoryMappedMatchesReader() throws IOException {
+        // Memory-mapped ingestion should find the same games, tags and moves as the reader
+        Path pgnFile = tempDir.resolve("mapped.pgn");
+        String content = Files.readString(Path.of("src/test/java/real_PGN_examples/Tbilisi2015.pgn"))
+                + "\r\n[Event \"CRLF game\"]\r\n[Bad tag]\r\n[Result \"1-0\"]\r\n\r\n1. e4 e5 {a\r\ncomment} 2. Nf3 1-0\r\n";
+        Files.writeString(pgnFile, content);
+
+        List<Record> expected = parser.parsingMoves(pgnFile.toString());
+        List<Record> mapped = new GameParser(GameParser.Ingestion.MEMORY_MAPPED).parsingMoves(pgnFile.toString());
+
+        assertEquals(expected.size(), mapped.size(), "Should find the same number of games");
+        for (int i = 0; i < expected.size(); i++) {
+            Record reader = expected.get(i);
+            Record map = mapped.get(i);
+            assertEquals(reader == null, map == null, "Game " + i + " should parse the same way");
+            if (reader == null) continue;
+
+            assertEquals(reader.getTags(), map.getTags(), "Game " + i + " should have the same tags");
+            assertEquals(reader.getResult(), map.getResult(), "Game " + i + " should have the same result");
+            List<Move> readerMoves = reader.getMoves();
+            List<Move> mapMoves = map.getMoves();
+            assertEquals(readerMoves.size(), mapMoves.size(), "Game " + i + " should have the same moves");
+            for (int j = 0; j < readerMoves.size(); j++) {
+                if (readerMoves.get(j) == null) {
+                    assertNull(mapMoves.get(j));
+                    continue;
+                }
+                assertEquals(readerMoves.get(j).getAction(), mapMoves.get(j).getAction());
+                assertEquals(readerMoves.get(j).getComment(), mapMoves.get(j).getComment());
+            }
+        }
+    }
+
     @Test
     public void testParseEmptyFile() throws IOException {
         // Create an empty PGN file
@@ -348,4 +422,68 @@ public class GameParserTest {
         // The parser should handle empty files
         assertNotNull(records, "Parser should return a list even for empty files");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNagDescriptions() {
+        assertEquals("good move (traditional \"!\")", Move.describeNag(1), "$1 should be a good move");
+        assertEquals("Black has severe time control pressure / zeitnot", Move.describeNag(139),
+                "$139 should be the last defined glyph");
+        assertNull(Move.describeNag(140), "Codes past the table should be undefined");
+        assertNull(Move.describeNag(-1), "Negative codes should be undefined");
+    }
+
+    @Test
+    public void testMoveListRoundAccess() throws IOException {
+        Path pgnFile = tempDir.resolve("rounds.pgn");
+        Files.writeString(pgnFile, "[Event \"Rounds\"]\n\n1. e4 e5 2. Nf3 Nc6 3. Bb5 1-0\n");
+
+        Record record = parser.parsingMoves(pgnFile.toString()).get(0);
+        MoveList moves = record.getMoveList();
+
+        assertEquals(5, moves.size(), "A game ending on white's move has an odd number of plies");
+        assertEquals(3, moves.getRoundCount(), "Three rounds were started");
+        assertEquals("Nc6", moves.getBlackMove(2).getAction(), "Black's second move");
+        assertEquals("Bb5", moves.getWhiteMove(3).getAction(), "White's third move");
+        assertNull(moves.getBlackMove(3), "Black did not reply in the last round");
+        assertSame(moves, record.getMoves(), "getMoves should be a view, not a copy");
+        assertThrows(UnsupportedOperationException.class, () -> record.getMoves().add(moves.get(0)),
+                "The move list is read-only");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedRoundMap() throws IOException {
+        Path pgnFile = tempDir.resolve("rounds.pgn");
+        Files.writeString(pgnFile, "[Event \"Rounds\"]\n\n1. e4 e5 2. Nf3 Nc6 3. Bb5 1-0\n");
+        Record record = parser.parsingMoves(pgnFile.toString()).get(0);
+
+        Map<Integer, Move[]> rounds = record.getRecord();
+        assertEquals(3, rounds.size(), "One entry per round");
+        assertEquals("Nc6", rounds.get(2)[1].getAction(), "Black's second move");
+        assertNull(rounds.get(3)[1], "Black did not reply in the last round");
+
+        Record copy = new Record(record.getTags(), rounds, record.getResult());
+        assertEquals(record.getMoves(), copy.getMoves(), "Rounds convert back to the same plies");
+    }
+
+    @Test
+    public void testProgressCounters() throws IOException {
+        String file = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+        long size = Files.size(Path.of(file));
+        for (GameParser.Ingestion ingestion : GameParser.Ingestion.values()) {
+            GameParser progressParser = new GameParser(ingestion);
+            try (Stream<Record> records = progressParser.streamingMoves(file)) {
+                assertEquals(size, progressParser.getFileSize(), "File size with " + ingestion);
+                long last = 0;
+                long games = 0;
+                for (Record ignored : (Iterable<Record>) records::iterator) {
+                    games++;
+                    assertEquals(games, progressParser.getGamesParsed(), "Games parsed with " + ingestion);
+                    assertTrue(progressParser.getBytesRead() >= last, "Position only moves forward with " + ingestion);
+                    last = progressParser.getBytesRead();
+                }
+                assertEquals(size, progressParser.getBytesRead(), "Whole file read with " + ingestion);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.JsonLinesReporter;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+import org.example.report.SummaryReporter;
+import org.example.simulation.DrawRule;
+import org.example.simulation.GameSimulator;
+import org.example.simulation.ResultVerification;
+import org.example.simulation.ValidationError;
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.PackedMove;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the moves GameSimulator validates and executes on its board and bitboard mirror,
+ * and for the verdicts it reaches at the end of a game.
+ */
+public class GameSimulatorTest {
+    @TempDir
+    Path tempDir;
+
+    private GameSimulator simulate(String movetext, Reporter reporter) throws IOException {
+        Path pgnFile = tempDir.resolve("game.pgn");
+        Files.writeString(pgnFile, "[Event \"Simulation\"]\n\n" + movetext + "\n");
+        Record record = new GameParser().parsingMoves(pgnFile.toString()).get(0);
+        return new GameSimulator(record, null, reporter);
+    }
+
+    private GameSimulator simulate(String movetext) throws IOException {
+        return simulate(movetext, new SilentReporter());
+    }
+
+    private void assertError(ValidationError expected, int failedPly, String movetext) throws IOException {
+        GameSimulator simulator = simulate(movetext);
+        assertFalse(simulator.runGame(), "Game should be invalid: " + movetext);
+        assertEquals(expected, simulator.getError(), "Error of " + movetext);
+        assertEquals(failedPly, simulator.getFailedPly(), "Failing ply of " + movetext);
+    }
+
+    @Test
+    public void testEnPassantCapture() throws IOException {
+        GameSimulator simulator = simulate("1. e4 Nf6 2. e5 d5 3. exd6 exd6 *");
+        assertTrue(simulator.runGame(), "En passant capture should be valid");
+
+        int capture = simulator.toCompactRecord().getMove(4);
+        assertTrue((PackedMove.flags(capture) & PackedMove.EN_PASSANT) != 0, "exd6 should be packed as en passant");
+        assertNull(simulator.getBoard()[4][3], "Captured pawn should be removed from d5");
+        assertEquals(BitboardPosition.EMPTY, simulator.getPosition().pieceAt(35), "Bitboard mirror should agree");
+        assertEquals(BitboardPosition.BLACK * 6 + BitboardPosition.PAWN, simulator.getPosition().pieceAt(43),
+                "Black pawn recaptured on d6");
+    }
+
+    @Test
+    public void testStalemate() throws IOException {
+        // Sam Loyd's ten move stalemate
+        GameSimulator simulator = simulate("1. e3 a5 2. Qh5 Ra6 3. Qxa5 h5 4. h4 Rah6 5. Qxc7 f6 " +
+                "6. Qxd7+ Kf7 7. Qxb7 Qd3 8. Qxb8 Qh7 9. Qxc8 Kg6 10. Qe6 1/2-1/2");
+        assertTrue(simulator.runGame(), "Game should be valid");
+        assertEquals(DrawRule.STALEMATE, simulator.getDrawRule(), "Black has no legal move");
+    }
+
+    @Test
+    public void testThreefoldRepetition() throws IOException {
+        GameSimulator simulator = simulate("1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 Nf6 4. Ng1 Ng8 1/2-1/2");
+        assertTrue(simulator.runGame(), "Game should be valid");
+        assertEquals(DrawRule.THREEFOLD_REPETITION, simulator.getDrawRule(),
+                "Starting position occurred three times");
+        assertEquals(8, simulator.getHalfmoveClock(), "No capture or pawn move yet");
+    }
+
+    @Test
+    public void testAutomaticDrawVerifiesResult() throws IOException {
+        String fivefold = "1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 Nf6 4. Ng1 Ng8 5. Nf3 Nf6 6. Ng1 Ng8 7. Nf3 Nf6 8. Ng1 Ng8 ";
+
+        GameSimulator drawn = simulate(fivefold + "1/2-1/2");
+        assertTrue(drawn.runGame(), "Game should be valid");
+        assertEquals(DrawRule.FIVEFOLD_REPETITION, drawn.getDrawRule(), "Starting position occurred five times");
+        assertEquals(ResultVerification.CONFIRMED, drawn.getResultVerification(), "PGN agrees with the draw");
+
+        GameSimulator decisive = simulate(fivefold + "1-0");
+        assertTrue(decisive.runGame(), "Game should be valid");
+        assertEquals(ResultVerification.CONTRADICTED, decisive.getResultVerification(), "A drawn game has no winner");
+
+        SummaryReporter summary = new SummaryReporter();
+        GameSimulator unknown = simulate(fivefold + "*", summary);
+        assertTrue(unknown.runGame(), "Game should be valid");
+        assertEquals(ResultVerification.UNVERIFIED, unknown.getResultVerification(), "* does not contradict a draw");
+        assertEquals(0, summary.getWarnings(), "No warning for an unknown result");
+    }
+
+    @Test
+    public void testPawnMoveResetsClock() throws IOException {
+        GameSimulator simulator = simulate("1. Nf3 Nf6 2. Ng1 Ng8 3. e4 1/2-1/2");
+        assertTrue(simulator.runGame(), "Game should be valid");
+        assertEquals(0, simulator.getHalfmoveClock(), "Pawn move resets the clock");
+        assertNull(simulator.getDrawRule(), "Starting position occurred only twice");
+    }
+
+    @Test
+    public void testMoveErrors() throws IOException {
+        assertError(ValidationError.UNKNOWN_PIECE, 1, "1. Nd3 1-0");
+        assertError(ValidationError.CAPTURE_MISMATCH, 3, "1. e4 e5 2. Bxc4 1-0");
+        assertError(ValidationError.CHECK_MISMATCH, 3, "1. e4 e5 2. Nf3+ 1-0");
+        assertError(ValidationError.CHECKMATE_MISMATCH, 3, "1. e4 f5 2. Qh5# 1-0");
+        assertError(ValidationError.CHECK_MISMATCH, 3, "1. e4 e5 2. Qh5# 1-0");
+        assertError(ValidationError.KING_LEFT_IN_CHECK, 4, "1. e4 f5 2. Qh5+ a6 1-0");
+        assertError(ValidationError.ILLEGAL_KING_SIDE_CASTLING, 1, "1. O-O 1-0");
+        assertError(ValidationError.ILLEGAL_QUEEN_SIDE_CASTLING, 2, "1. e4 O-O-O 1-0");
+    }
+
+    @Test
+    public void testRejectedMoveIsTakenBack() throws IOException {
+        GameSimulator simulator = simulate("1. e4 f5 2. Qh5+ a6 1-0");
+        assertFalse(simulator.runGame(), "a6 leaves the king in check");
+
+        BitboardPosition position = simulator.getPosition();
+        assertEquals(3, position.getUndoDepth(), "Only the valid moves stay made");
+        assertEquals(simulator.getPositionKey(3), position.getKey(), "Position after 2. Qh5+ is restored");
+        assertEquals(BitboardPosition.EMPTY, position.pieceAt(40), "a6 was taken back");
+        assertNotNull(simulator.getBoard()[6][0], "Board was not changed by the rejected move");
+    }
+
+    @Test
+    public void testCheckmateIsCheck() throws IOException {
+        assertTrue(simulate("1. f3 e5 2. g4 Qh4# 0-1").runGame(), "Fool's mate marked with # should be valid");
+    }
+
+    @Test
+    public void testGameErrors() {
+        GameSimulator simulator = new GameSimulator(null, null, new SilentReporter());
+        assertFalse(simulator.runGame(), "No record to validate");
+        assertEquals(ValidationError.NO_RECORD, simulator.getError(), "Unparsed game");
+        assertEquals(0, simulator.getFailedPly(), "No move failed");
+    }
+
+    @Test
+    public void testReportersReceiveCodes() throws IOException {
+        SummaryReporter summary = new SummaryReporter();
+        simulate("1. e4 e5 2. Nf3+ 1-0", summary).runGame();
+        simulate("1. e4 e5 2. Nc3+ 1-0", summary).runGame();
+        assertEquals(2, summary.getCount("Error: Check status mismatch for move"),
+                "Errors are counted by kind, not by move");
+
+        StringWriter out = new StringWriter();
+        try (JsonLinesReporter log = new JsonLinesReporter(out)) {
+            simulate("1. e4 e5 2. Nf3+ 1-0", log).runGame();
+        }
+        assertTrue(out.toString().contains(
+                        "{\"level\":\"error\",\"code\":\"CHECK_MISMATCH\",\"message\":\"Error: Check status mismatch for move Nf3+\"}"),
+                "Log should carry the code and the full message");
+    }
+
+    @Test
+    public void testPositionKeysDetectRepetition() throws IOException {
+        GameSimulator simulator = simulate("1. Nf3 Nf6 2. Ng1 Ng8 3. e4 1/2-1/2");
+        assertTrue(simulator.runGame(), "Game should be valid");
+
+        long[] keys = simulator.getPositionKeys();
+        assertEquals(6, keys.length, "One key per ply plus the starting position");
+        assertEquals(keys[0], keys[4], "Knights went back, so the starting position repeats");
+        assertNotEquals(keys[0], keys[2], "Different positions should have different keys");
+        assertEquals(BitboardPosition.fromFen(
+                "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3").getKey(),
+                simulator.getPositionKey(5), "Key after 3. e4 should match the same position read from FEN");
+    }
+}
@@ -0,0 +1,64 @@
+import org.example.batch.BatchValidator;
+import org.example.batch.ValidationStats;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.Metrics;
+import org.example.metrics.Phase;
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.SilentReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the phase timers of Metrics and their LatencyHistogram.
+ */
+public class MetricsTest {
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(50), "Empty histogram");
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals(100, histogram.getCount(), "Every duration is counted");
+        assertEquals(99 * 100 + 5000, histogram.getTotalNanos(), "Total of the durations");
+        assertEquals(5000, histogram.getMaxNanos(), "Longest duration");
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 100 && median < 200, "Median is within a factor of two: " + median);
+        assertEquals(5000, histogram.getPercentileNanos(100), "Top percentile is capped at the maximum");
+    }
+
+    @Test
+    public void testPhasesAreTimedOnlyWhenEnabled() {
+        Metrics.reset();
+        validate();
+        assertEquals(0, Metrics.get(Phase.GAME).getCount(), "Disabled metrics record nothing");
+
+        Metrics.setEnabled(true);
+        try {
+            ValidationStats stats = validate();
+            assertEquals(stats.getGames(), Metrics.get(Phase.GAME).getCount(), "One timing per validated game");
+            assertEquals(stats.getGames(), Metrics.get(Phase.PARSE).getCount(), "One timing per parsed game");
+            assertTrue(Metrics.get(Phase.CHECK).getCount() > stats.getMoves() / 2, "Moves are checked for check");
+            assertTrue(Metrics.report(stats, 1_000_000_000L).contains("detect checkmate"), "Report lists the phases");
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    private static ValidationStats validate() {
+        GameParser parser = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX, new SilentReporter());
+        try (Stream<Record> records = parser.streamingMoves(PGN_FILE)) {
+            return new BatchValidator(1, null, null, new SilentReporter()).validate(records);
+        }
+    }
+}
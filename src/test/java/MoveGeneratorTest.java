@@ -0,0 +1,108 @@
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.MoveGenerator;
+import org.example.simulation.bitboard.PackedMove;
+import org.example.simulation.bitboard.Perft;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MoveGenerator, checked against published perft node counts.
+ * The positions cover castling, en passant, promotions, pins and checks.
+ */
+public class MoveGeneratorTest {
+    private static final String KIWIPETE =
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String PROMOTIONS =
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String MIDGAME = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+    private static void assertPerft(String fen, long... expected) {
+        BitboardPosition position = BitboardPosition.fromFen(fen);
+        Perft perft = new Perft(expected.length);
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals(expected[depth - 1], perft.count(position, depth),
+                    "Perft " + depth + " of " + fen);
+        }
+    }
+
+    @Test
+    public void testStartingPosition() {
+        assertPerft(BitboardPosition.START_FEN, 20, 400, 8902, 197281);
+    }
+
+    @Test
+    public void testKiwipete() {
+        assertPerft(KIWIPETE, 48, 2039, 97862);
+    }
+
+    @Test
+    public void testEndgameWithEnPassantPins() {
+        assertPerft(ENDGAME, 14, 191, 2812, 43238);
+    }
+
+    @Test
+    public void testPromotions() {
+        assertPerft(PROMOTIONS, 6, 264, 9467);
+    }
+
+    @Test
+    public void testMidgame() {
+        assertPerft(MIDGAME, 44, 1486, 62379);
+    }
+
+    @Test
+    public void testCheckmateHasNoLegalMoves() {
+        // fool's mate
+        BitboardPosition position =
+                BitboardPosition.fromFen("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+        assertTrue(position.isInCheck(BitboardPosition.WHITE), "White should be in check");
+        assertFalse(MoveGenerator.hasLegalMove(position), "Checkmated side should have no legal moves");
+    }
+
+    @Test
+    public void testMakeMoveUpdatesState() {
+        BitboardPosition position = BitboardPosition.fromFen(KIWIPETE);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(position, moves);
+
+        int castle = -1;
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.toString(moves[i]).equals("e1g1")) {
+                castle = moves[i];
+            }
+        }
+        assertNotEquals(-1, castle, "White should be able to castle king side");
+
+        position.makeMove(castle);
+        assertEquals(BitboardPosition.BLACK, position.getSideToMove(), "Black should be to move");
+        assertEquals(BitboardPosition.BLACK_KING_SIDE | BitboardPosition.BLACK_QUEEN_SIDE,
+                position.getCastlingRights(), "White should have lost both castling rights");
+        assertEquals(BitboardPosition.ROOK, position.pieceAt(5), "Rook should be on f1");
+        assertEquals(BitboardPosition.EMPTY, position.pieceAt(7), "h1 should be empty");
+    }
+
+    @Test
+    public void testUnmakeRestoresPosition() {
+        BitboardPosition position = BitboardPosition.fromFen(KIWIPETE);
+        BitboardPosition original = BitboardPosition.fromFen(KIWIPETE);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generatePseudoLegal(position, moves);
+
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            position.unmakeMove();
+            String move = PackedMove.toString(moves[i]);
+            for (int square = 0; square < 64; square++) {
+                assertEquals(original.pieceAt(square), position.pieceAt(square), "Board after taking back " + move);
+            }
+            assertEquals(original.getKey(), position.getKey(), "Key after taking back " + move);
+            assertEquals(original.getCastlingRights(), position.getCastlingRights(), "Castling after " + move);
+            assertEquals(original.getEnPassantSquare(), position.getEnPassantSquare(), "En passant after " + move);
+            assertEquals(original.getSideToMove(), position.getSideToMove(), "Side to move after " + move);
+        }
+        assertEquals(0, position.getUndoDepth(), "Every move was taken back");
+        assertThrows(IllegalStateException.class, position::unmakeMove, "Nothing left to take back");
+    }
+}
@@ -0,0 +1,138 @@
+import org.example.parsing.GameParser;
+import org.example.parsing.Move;
+import org.example.parsing.MovetextTokenizer;
+import org.example.parsing.MovetextTokenizer.TokenType;
+import org.example.parsing.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the MovetextTokenizer class.
+ * Verifies token classification and that the tokenizer parsing mode accepts and rejects
+ * the same games as the regular expression mode.
+ */
+public class MovetextTokenizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testTokenTypes() {
+        MovetextTokenizer tokenizer = new MovetextTokenizer("12. Nbd7+ $14 {a comment} 12... exd8=Q# O-O-O 1/2-1/2");
+
+        assertEquals(TokenType.MOVE_NUMBER, tokenizer.next());
+        assertEquals(12, tokenizer.getNumber());
+        assertEquals(1, tokenizer.getDots());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("Nbd7+", tokenizer.getText());
+        assertEquals(TokenType.NAG, tokenizer.next());
+        assertEquals("$14", tokenizer.getText());
+        assertEquals(TokenType.COMMENT, tokenizer.next());
+        assertEquals("{a comment}", tokenizer.getText());
+        assertEquals(TokenType.MOVE_NUMBER, tokenizer.next());
+        assertEquals(3, tokenizer.getDots());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("exd8=Q#", tokenizer.getText());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("O-O-O", tokenizer.getText());
+        assertEquals(TokenType.RESULT, tokenizer.next());
+        assertEquals("1/2-1/2", tokenizer.getText());
+        assertEquals(TokenType.END, tokenizer.next());
+    }
+
+    @Test
+    public void testMovesWithoutSpaces() {
+        // The regular expressions never required whitespace between tokens
+        MovetextTokenizer tokenizer = new MovetextTokenizer("1.e4e5 2.Nf3d6$1{c}1-0");
+
+        assertEquals(TokenType.MOVE_NUMBER, tokenizer.next());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("e4", tokenizer.getText());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("e5", tokenizer.getText());
+        assertEquals(TokenType.MOVE_NUMBER, tokenizer.next());
+        assertEquals(TokenType.SAN, tokenizer.next());
+        assertEquals("Nf3d6", tokenizer.getText(), "Square disambiguation is matched greedily");
+        assertEquals(TokenType.NAG, tokenizer.next());
+        assertEquals(TokenType.COMMENT, tokenizer.next());
+        assertEquals(TokenType.RESULT, tokenizer.next());
+        assertEquals(TokenType.END, tokenizer.next());
+    }
+
+    @Test
+    public void testInvalidTokens() {
+        assertEquals(TokenType.UNKNOWN, new MovetextTokenizer("Zz4").next());
+        assertEquals(TokenType.UNKNOWN, new MovetextTokenizer("{unterminated").next());
+        assertEquals(TokenType.UNKNOWN, new MovetextTokenizer("$").next());
+        assertEquals(TokenType.UNKNOWN, new MovetextTokenizer("42").next());
+    }
+
+    @Test
+    public void testSameGamesAsRegexMode() throws IOException {
+        String[] movetexts = {
+                "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 6. Re1 b5 7. Bb3 d6 1-0",
+                "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 6. Re1 b5 7. Bb3 d6",
+                "1. e4 e5 3. Nf3 Nc6 4. Bb5 a6 1-0",
+                "1. e4 e5 1. Nf3 Nc6 2. Bb5 a6 1-0",
+                "1. e4 e5 2. Nf3 Nc6 3. Bc4 Bc5 4. O-O Nf6 5. d3 O-O 6. Bg5 d6 1-0",
+                "1. d4 d5 2. c4 e6 3. Nc3 Nf6 4. Bg5 Be7 5. e3 O-O 6. Nf3 b6 7. Qc2 Bb7 8. O-O-O Nbd7 1-0",
+                "1. e4 e5 2. Qh5 Nc6 3. Bc4 Nf6 4. Qxf7# 1-0",
+                "1. e4 e5 2. d4 exd4 3. c3 dxc3 4. Nxc3 d6 5. h4 Be6\n6. h5 a5 7. h6 a4 8. hxg7 a3 9. gxh8=Q+ Kd7 1-0",
+                "1. e4 e5 2. Nf3 Nc6 3. Zz4 Bc5 1-0",
+                "",
+                "1. e4 {best by test} 1... e5 2. Nf3 $1 {a\nmultiline comment} 2... Nc6 *",
+                "1. e4 {comment} e5 1-0",
+                "1. e4 {comment} 2... e5 1-0",
+                "1. e4 1... e5 1-0",
+                "1. e4 e5 2. O-O+ Nc6 1-0",
+                "1. e4 e5 1-0 0-1",
+                "1. e4 e5 2. Nf3 $1234 Nc6 1-0",
+                "1. e4 {unterminated e5 1-0",
+                "1. e4 e5 2. Nf3 1/2",
+                "1.e4 e5 2.Nf3 Nc6 1/2-1/2",
+                "1. e4 $10 c5 $12 2. Nf3 d6 0-1"
+        };
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < movetexts.length; i++) {
+            content.append("[Event \"Game ").append(i).append("\"]\n\n").append(movetexts[i]).append("\n\n");
+        }
+        content.append(Files.readString(Path.of("src/test/java/real_PGN_examples/Tbilisi2015.pgn")));
+        content.append("\n").append(Files.readString(Path.of("src/test/java/real_PGN_examples/badOne.pgn")));
+        Path pgnFile = tempDir.resolve("corpus.pgn");
+        Files.writeString(pgnFile, content);
+
+        List<Record> expected = new GameParser().parsingMoves(pgnFile.toString());
+        List<Record> tokenized = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.TOKENIZER)
+                .parsingMoves(pgnFile.toString());
+
+        assertEquals(expected.size(), tokenized.size(), "Should find the same number of games");
+        for (int i = 0; i < expected.size(); i++) {
+            Record regex = expected.get(i);
+            Record tokens = tokenized.get(i);
+            assertEquals(regex == null, tokens == null, "Game " + i + " should be accepted by both modes or neither");
+            if (regex == null) continue;
+
+            assertEquals(regex.getResult(), tokens.getResult(), "Game " + i + " should have the same result");
+            List<Move> regexMoves = regex.getMoves();
+            List<Move> tokenMoves = tokens.getMoves();
+            assertEquals(regexMoves.size(), tokenMoves.size(), "Game " + i + " should have the same moves");
+            for (int j = 0; j < regexMoves.size(); j++) {
+                if (regexMoves.get(j) == null) {
+                    assertNull(tokenMoves.get(j));
+                    continue;
+                }
+                assertEquals(regexMoves.get(j).getAction(), tokenMoves.get(j).getAction());
+                assertEquals(regexMoves.get(j).getComment(), tokenMoves.get(j).getComment());
+                assertEquals(regexMoves.get(j).getColor(), tokenMoves.get(j).getColor());
+            }
+        }
+    }
+}
@@ -160,4 +160,21 @@ public class PieceMovementTest {
         assertFalse(king.canGo(new Position('d', 6)), "King cannot move two squares up");
         assertFalse(king.canGo(new Position('f', 6)), "King cannot move in L-shape");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testKingCannotCastleThroughCheck() {
+        Piece[][] board = new Piece[8][8];
+        King king = new King(new Position('e', 1), Color.white);
+        board[0][4] = king;
+        board[0][7] = new Rook(new Position('h', 1), Color.white);
+        board[0][0] = new Rook(new Position('a', 1), Color.white);
+
+        assertTrue(king.canCastleKingSide(board), "King can castle king side on an open board");
+        assertTrue(king.canCastleQueenSide(board), "King can castle queen side on an open board");
+
+        // a bishop on c4 covers f1, the square the king passes on the king side
+        board[3][2] = new Bishop(new Position('c', 4), Color.black);
+        assertFalse(king.canCastleKingSide(board), "King cannot castle through an attacked square");
+        assertTrue(king.canCastleQueenSide(board), "Queen side is not attacked");
+    }
+}
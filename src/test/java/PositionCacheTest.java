@@ -0,0 +1,87 @@
+import org.example.simulation.PositionCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the PositionCache class.
+ * Verifies lookups, CLOCK eviction of unused entries, the bound on size and concurrent use.
+ */
+public class PositionCacheTest {
+
+    @Test
+    public void testHitAndMiss() {
+        PositionCache cache = new PositionCache(64);
+        assertEquals(0, cache.get(42L), "Unknown position should not be cached");
+
+        cache.put(42L, PositionCache.MATE_KNOWN);
+        cache.put(42L, PositionCache.CHECKMATE);
+        assertEquals(PositionCache.MATE_KNOWN | PositionCache.CHECKMATE, cache.get(42L), "Status bits should merge");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testCapacityIsBounded() {
+        PositionCache cache = new PositionCache(100);
+        Random random = new Random(1);
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextLong();
+            keys.add(key);
+            cache.put(key, PositionCache.MATE_KNOWN);
+        }
+
+        int cached = 0;
+        for (long key : keys) {
+            if (cache.get(key) != 0) cached++;
+        }
+        assertTrue(cached <= cache.getCapacity(), "Cache should never hold more than its capacity");
+        assertEquals(keys.size() - cache.getCapacity(), cache.getEvictions(),
+                "Every insert into a full cache should evict one entry");
+    }
+
+    @Test
+    public void testClockKeepsUsedEntries() {
+        // one set of eight slots: keys that share their low bits land in the same set
+        PositionCache cache = new PositionCache(8);
+        for (long key = 1; key <= 8; key++) {
+            cache.put(key << 32 | key, PositionCache.MATE_KNOWN);
+        }
+        // first insert into the full set clears all reference bits and evicts the slot under the hand
+        cache.put(9L << 32 | 9L, PositionCache.MATE_KNOWN);
+        // touch key 3, then insert again: the hand must skip it
+        cache.get(3L << 32 | 3L);
+        cache.put(10L << 32 | 10L, PositionCache.MATE_KNOWN);
+
+        assertNotEquals(0, cache.get(3L << 32 | 3L), "A recently used entry should survive eviction");
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testConcurrentUse() throws InterruptedException {
+        PositionCache cache = new PositionCache(1 << 12);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (long key = 1; key <= 2000; key++) {
+                    cache.put(key, PositionCache.MATE_KNOWN | ((key % 2 == 0) ? PositionCache.CHECKMATE : 0));
+                    cache.get(key);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (long key = 1; key <= 2000; key++) {
+            int status = cache.get(key);
+            assertEquals(key % 2 == 0, (status & PositionCache.CHECKMATE) != 0, "Status of key " + key);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import org.example.simulation.pieces.attributes.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared Position instances and the square index API.
+ */
+public class PositionTest {
+
+    @Test
+    public void testOfReturnsSharedInstances() {
+        assertSame(Position.of('e', 4), Position.of('e', 4), "Squares on the board should be shared");
+        assertSame(Position.of('e', 4), Position.of(28), "File/rank and square index should agree");
+        assertEquals(new Position('e', 4), Position.of('e', 4), "Shared instances equal constructed ones");
+        assertEquals(new Position('e', 4).hashCode(), Position.of('e', 4).hashCode());
+    }
+
+    @Test
+    public void testSquareIndex() {
+        for (int square = 0; square < 64; square++) {
+            Position position = Position.of(square);
+            assertEquals(square, position.getSquare(), "Square index of " + position);
+            assertEquals(square / 8, position.getX(), "Rank index of " + position);
+            assertEquals(square % 8, position.getY(), "File index of " + position);
+        }
+        assertEquals("a1", Position.of(0).toString());
+        assertEquals("h8", Position.of(63).toString());
+    }
+
+    @Test
+    public void testOffBoardCoordinates() {
+        Position outside = Position.of('i', 9);
+        assertEquals('i', outside.getFile(), "Off-board coordinates are kept as given");
+        assertEquals(9, outside.getRank());
+    }
+}
@@ -0,0 +1,95 @@
+import org.example.batch.BatchValidator;
+import org.example.batch.ValidationStats;
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.ConsoleReporter;
+import org.example.report.JsonLinesReporter;
+import org.example.report.Reporter;
+import org.example.report.SilentReporter;
+import org.example.report.SummaryReporter;
+import org.example.simulation.GameSimulator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Reporter implementations that replace console output in parser and simulator.
+ */
+public class ReporterTest {
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    private static ValidationStats validate(Reporter reporter) {
+        GameParser parser = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX, reporter);
+        try (Stream<Record> records = parser.streamingMoves(PGN_FILE)) {
+            return new BatchValidator(1, null, null, reporter).validate(records);
+        }
+    }
+
+    @Test
+    public void testOutputDoesNotChangeResults() {
+        ValidationStats console = validate(new ConsoleReporter(new PrintStream(OutputStream.nullOutputStream())));
+        ValidationStats silent = validate(new SilentReporter());
+
+        assertEquals(console.getValidGames(), silent.getValidGames(), "Same valid games");
+        assertEquals(console.getMoves(), silent.getMoves(), "Same validated moves");
+    }
+
+    @Test
+    public void testSummaryCountsMessages() {
+        SummaryReporter summary = new SummaryReporter();
+        ValidationStats stats = validate(summary);
+
+        assertTrue(summary.getErrors() >= stats.getFailedGames(), "Every failed game reports an error");
+        assertTrue(summary.getInfos() > 0, "Progress messages should be counted");
+
+        summary.error("Error: Wrong file ambiguity");
+        summary.error("Error: Wrong file ambiguity");
+        assertEquals(2, summary.getCount("Error: Wrong file ambiguity"), "Distinct messages are counted");
+        assertTrue(summary.toString().contains("2  Error: Wrong file ambiguity"), "Summary lists frequent messages");
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonLinesReporter reporter = new JsonLinesReporter(out)) {
+            reporter.error("Error: \"quoted\"\tmove");
+            reporter.board(new GameSimulator(null).getBoard());
+        }
+        String[] lines = out.toString().split("\n");
+        assertEquals("{\"level\":\"error\",\"message\":\"Error: \\\"quoted\\\"\\tmove\"}", lines[0],
+                "Message should be escaped");
+        assertEquals("{\"level\":\"board\",\"placement\":\"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR\"}", lines[1],
+                "Board should be written as FEN placement");
+    }
+
+    @Test
+    public void testJsonLinesWriteErrorIsThrownByClose() {
+        Writer broken = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        JsonLinesReporter reporter = new JsonLinesReporter(broken);
+        for (int i = 0; i < 1000; i++) {
+            reporter.info("Successful game");
+        }
+        IOException failure = assertThrows(IOException.class, reporter::close, "Close should report the failure");
+        assertEquals("Disk full", failure.getMessage(), "First error should be thrown");
+    }
+}
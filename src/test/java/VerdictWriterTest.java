@@ -0,0 +1,107 @@
+import org.example.batch.BatchValidator;
+import org.example.batch.ValidationStats;
+import org.example.parsing.GameParser;
+import org.example.parsing.Record;
+import org.example.report.GameVerdict;
+import org.example.report.SilentReporter;
+import org.example.report.VerdictWriter;
+import org.example.simulation.ResultVerification;
+import org.example.simulation.ValidationError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-game verdicts written by VerdictWriter in JSON Lines and CSV.
+ */
+public class VerdictWriterTest {
+    private static final String PGN_FILE = "src/test/java/real_PGN_examples/Tbilisi2015.pgn";
+
+    @Test
+    public void testOneVerdictPerGame() throws IOException {
+        StringWriter out = new StringWriter();
+        ValidationStats stats;
+        try (VerdictWriter verdicts = new VerdictWriter(out, VerdictWriter.Format.JSON_LINES)) {
+            GameParser parser = new GameParser(GameParser.Ingestion.READER, GameParser.Movetext.REGEX, new SilentReporter());
+            BatchValidator validator = new BatchValidator(4, null, null, new SilentReporter());
+            validator.setVerdicts(verdicts);
+            try (Stream<Record> records = parser.streamingMoves(PGN_FILE)) {
+                stats = validator.validate(records);
+            }
+        }
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(stats.getGames(), lines.length, "One line per game");
+        long failed = Arrays.stream(lines).filter(line -> line.contains("\"valid\":false")).count();
+        assertEquals(stats.getFailedGames(), failed, "Failed games should be marked");
+        for (String line : lines) {
+            if (line.contains("\"error\":\"NO_RECORD\"")) {
+                assertTrue(line.contains("\"tags\":{}"), "Unparsed game has no tags: " + line);
+            } else if (line.contains("\"valid\":false")) {
+                assertTrue(!line.contains("\"error\":null") && !line.contains("\"failedPly\":null"),
+                        "Failed game should name its error and ply: " + line);
+            } else {
+                assertTrue(line.contains("\"Event\":\"Tbilisi FIDE GP 2015\""), "Tags should be written: " + line);
+                assertTrue(line.contains("\"error\":null,\"verification\":\""), "Valid game should be verified: " + line);
+            }
+        }
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Tbilisi, \"Open\"");
+        tags.put("White ", "Carlsen");
+        tags.put("Result", "1-0");
+
+        StringWriter out = new StringWriter();
+        try (VerdictWriter verdicts = new VerdictWriter(out, VerdictWriter.Format.CSV)) {
+            verdicts.write(new GameVerdict(1, tags, "white", 41, 0, null, ResultVerification.CONFIRMED));
+            verdicts.write(new GameVerdict(2, null, null, 0, 0, ValidationError.NO_RECORD, null));
+            verdicts.write(new GameVerdict(3, tags, "white", 12, 13, ValidationError.CHECK_MISMATCH, null));
+        }
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("Game,Event,Site,Date,Round,White,Black,Result,Valid,Plies,FailedPly,Error,Verification",
+                lines[0], "Header");
+        assertEquals("1,\"Tbilisi, \"\"Open\"\"\",,,,Carlsen,,1-0,true,41,,,CONFIRMED", lines[1],
+                "Fields with separators should be quoted, parsed tag names matched");
+        assertEquals("2,,,,,,,,false,0,,NO_RECORD,", lines[2], "Unparsed game has no tags");
+        assertEquals("3,\"Tbilisi, \"\"Open\"\"\",,,,Carlsen,,1-0,false,12,13,CHECK_MISMATCH,", lines[3],
+                "Failed game names its ply");
+        assertEquals("csv", VerdictWriter.formatOf("out/verdicts.CSV").name().toLowerCase(), "Format from extension");
+    }
+
+    @Test
+    public void testFailedWriterKeepsDraining() {
+        Map<String, String> broken = new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                throw new IllegalStateException("Broken tags");
+            }
+        };
+        VerdictWriter verdicts = new VerdictWriter(new StringWriter(), VerdictWriter.Format.JSON_LINES);
+
+        IOException failure = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            verdicts.write(new GameVerdict(1, broken, "white", 41, 0, null, ResultVerification.CONFIRMED));
+            for (int game = 2; game <= 3000; game++) {
+                verdicts.write(new GameVerdict(game, null, null, 0, 0, ValidationError.NO_RECORD, null));
+            }
+            return assertThrows(IOException.class, verdicts::close, "Close should report the failure");
+        }, "Writers should not block after the writer thread failed");
+        assertInstanceOf(IllegalStateException.class, failure.getCause(), "Failure should keep its cause");
+        assertThrows(IllegalStateException.class,
+                () -> verdicts.write(new GameVerdict(3001, null, null, 0, 0, ValidationError.NO_RECORD, null)),
+                "Closed writer should reject verdicts");
+    }
+}
@@ -0,0 +1,71 @@
+import org.example.simulation.bitboard.BitboardPosition;
+import org.example.simulation.bitboard.MoveGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Zobrist position keys of BitboardPosition.
+ * Incrementally updated keys are compared with keys of positions built from scratch.
+ */
+public class ZobristTest {
+
+    private static BitboardPosition rebuild(BitboardPosition position) {
+        BitboardPosition copy = new BitboardPosition();
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != BitboardPosition.EMPTY) {
+                copy.put(piece / 6, piece % 6, square);
+            }
+        }
+        copy.setSideToMove(position.getSideToMove());
+        copy.setCastlingRights(position.getCastlingRights());
+        copy.setEnPassantSquare(position.getEnPassantSquare());
+        return copy;
+    }
+
+    @Test
+    public void testIncrementalKeyMatchesRebuiltKey() {
+        Random random = new Random(7);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int game = 0; game < 20; game++) {
+            BitboardPosition position = BitboardPosition.fromFen(BitboardPosition.START_FEN);
+            for (int ply = 0; ply < 80; ply++) {
+                int count = MoveGenerator.generateLegal(position, moves);
+                if (count == 0) break;
+                position.makeMove(moves[random.nextInt(count)]);
+                assertEquals(rebuild(position).getKey(), position.getKey(),
+                        "Incremental key differs in game " + game + " at ply " + ply);
+            }
+        }
+    }
+
+    @Test
+    public void testStateChangesKey() {
+        BitboardPosition start = BitboardPosition.fromFen(BitboardPosition.START_FEN);
+        BitboardPosition blackToMove = BitboardPosition.fromFen(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 0 1");
+        BitboardPosition noCastling = BitboardPosition.fromFen(
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1");
+
+        assertNotEquals(start.getKey(), blackToMove.getKey(), "Side to move is part of the key");
+        assertNotEquals(start.getKey(), noCastling.getKey(), "Castling rights are part of the key");
+    }
+
+    @Test
+    public void testEnPassantOnlyCountsWhenCapturable() {
+        BitboardPosition uncapturable = BitboardPosition.fromFen(
+                "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        BitboardPosition withoutSquare = BitboardPosition.fromFen(
+                "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        assertEquals(withoutSquare.getKey(), uncapturable.getKey(), "No black pawn can capture on e3");
+
+        BitboardPosition capturable = BitboardPosition.fromFen(
+                "rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        BitboardPosition capturableWithoutSquare = BitboardPosition.fromFen(
+                "rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        assertNotEquals(capturableWithoutSquare.getKey(), capturable.getKey(), "d4 pawn can capture on e3");
+    }
+}